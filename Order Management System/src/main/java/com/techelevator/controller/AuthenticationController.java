@@ -4,6 +4,8 @@ import javax.validation.Valid;
 
 import com.techelevator.exception.DaoException;
 import com.techelevator.model.*;
+import com.techelevator.security.PasswordHashingBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -14,11 +16,15 @@ import com.techelevator.dao.UserDao;
 import com.techelevator.security.jwt.TokenProvider;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * AuthenticationController is a class used for handling requests to authenticate Users.
  *
  * It depends on an instance of a UserDao for retrieving and storing user data. This is provided
- * through dependency injection.
+ * through dependency injection. Password hashing and verification run on the PasswordHashingExecutor, by way of
+ * PooledPasswordEncoder, so a burst of logins can't tie up every request thread; when it is full the request gets
+ * a 503 with a Retry-After header.
  */
 @RestController
 @CrossOrigin
@@ -35,7 +41,7 @@ public class AuthenticationController {
     }
 
     @RequestMapping(path = "/login", method = RequestMethod.POST)
-    public LoginResponseDto login(@Valid @RequestBody LoginDto loginDto) {
+    public LoginResponseDto login(@Valid @RequestBody LoginDto loginDto, HttpServletResponse response) {
         try {
             UsernamePasswordAuthenticationToken authenticationToken =
                     new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword());
@@ -50,11 +56,14 @@ public class AuthenticationController {
         catch (DaoException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "DAO error - " + e.getMessage());
         }
+        catch (PasswordHashingBusyException e) {
+            throw serviceUnavailable(e, response);
+        }
     }
 
     @ResponseStatus(HttpStatus.CREATED)
     @RequestMapping(path = "/register", method = RequestMethod.POST)
-    public User register(@Valid @RequestBody RegisterUserDto newUser) {
+    public User register(@Valid @RequestBody RegisterUserDto newUser, HttpServletResponse response) {
         try {
             User user = userDao.createUser(
                     new User(newUser.getUsername(),newUser.getPassword(), newUser.getRole(), newUser.getName(), newUser.getAddress(), newUser.getCity(), newUser.getStateCode(), newUser.getZIP())
@@ -64,8 +73,13 @@ public class AuthenticationController {
         catch (DaoException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "DAO error - " + e.getMessage());
         }
+        catch (PasswordHashingBusyException e) {
+            throw serviceUnavailable(e, response);
+        }
     }
 
-
-
+    private ResponseStatusException serviceUnavailable(PasswordHashingBusyException e, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
 }
@@ -2,10 +2,10 @@ package com.techelevator.controller;
 
 import com.techelevator.dao.CartDao;
 import com.techelevator.dao.CartItemDao;
-import com.techelevator.dao.UserDao;
+import com.techelevator.model.BulkCartUpdateDto;
 import com.techelevator.model.Cart;
 import com.techelevator.model.CartItem;
-import com.techelevator.model.User;
+import com.techelevator.security.UserIdResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,44 +19,47 @@ import java.security.Principal;
 public class CartController {
 
     private final CartItemDao cartItemDao;
-    private final UserDao userDao;
+    private final UserIdResolver userIdResolver;
     private final CartDao cartDao;
 
-    public CartController(CartItemDao cartItemDao, UserDao userDao, CartDao cartDao) {
+    public CartController(CartItemDao cartItemDao, UserIdResolver userIdResolver, CartDao cartDao) {
         this.cartItemDao = cartItemDao;
-        this.userDao = userDao;
+        this.userIdResolver = userIdResolver;
         this.cartDao = cartDao;
     }
 
     // Get the user's cart (Use Case 4)
     @RequestMapping(method = RequestMethod.GET)
     public Cart getCart(Principal principal) {
-        String userName = principal.getName();
-        User user = userDao.getUserByUsername(userName);
-        return cartDao.getCartByUserId(user.getId());
+        return cartDao.getCartByUserId(userIdResolver.getUserId(principal));
     }
 
     // Add an item to the user's cart (Use Case 5)
     @ResponseStatus(HttpStatus.CREATED)
     @RequestMapping(path = "/items", method = RequestMethod.POST)
     public CartItem create(@Valid @RequestBody CartItem item, Principal principal) {
-        User user = userDao.getUserByUsername(principal.getName());
-        return cartItemDao.putItemInCart(user.getId(), item);
+        return cartItemDao.putItemInCart(userIdResolver.getUserId(principal), item);
+    }
+
+    // Apply a list of add/set/remove changes to the user's cart in one transaction
+    @RequestMapping(path = "/items/bulk", method = RequestMethod.POST)
+    public Cart updateItemsInCart(@Valid @RequestBody BulkCartUpdateDto bulkCartUpdate, Principal principal) {
+        int userId = userIdResolver.getUserId(principal);
+        cartItemDao.applyCartItemOperations(userId, bulkCartUpdate.getOperations());
+        return cartDao.getCartByUserId(userId);
     }
 
     // Remove the item from the user's cart (Use Case 6)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @RequestMapping(path = "/items/{productId}", method = RequestMethod.DELETE)
     public void deleteItemFromCart(@PathVariable int productId, Principal principal) {
-        User user = userDao.getUserByUsername(principal.getName());
-        cartItemDao.deleteItemFromCartByProductId(user.getId(), productId);
+        cartItemDao.deleteItemFromCartByProductId(userIdResolver.getUserId(principal), productId);
     }
 
     // Clear the user's cart (Use Case 7)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @RequestMapping(method = RequestMethod.DELETE)
     public void deleteCart(Principal principal) {
-        User user = userDao.getUserByUsername(principal.getName());
-        cartItemDao.deleteCartByUserId(user.getId());
+        cartItemDao.deleteCartByUserId(userIdResolver.getUserId(principal));
     }
 }
@@ -0,0 +1,42 @@
+package com.techelevator.controller;
+
+import com.techelevator.dao.OrderDao;
+import com.techelevator.exception.EmptyCartException;
+import com.techelevator.model.Order;
+import com.techelevator.security.UserIdResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/orders")
+@PreAuthorize("isAuthenticated()")
+public class OrderController {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    private final OrderDao orderDao;
+    private final UserIdResolver userIdResolver;
+
+    public OrderController(OrderDao orderDao, UserIdResolver userIdResolver) {
+        this.orderDao = orderDao;
+        this.userIdResolver = userIdResolver;
+    }
+
+    // Check out the user's cart. Retrying with the same Idempotency-Key returns the order the first request placed.
+    @ResponseStatus(HttpStatus.CREATED)
+    @RequestMapping(method = RequestMethod.POST)
+    public Order checkout(@RequestHeader("Idempotency-Key") String idempotencyKey, Principal principal) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+        }
+        try {
+            return orderDao.placeOrder(userIdResolver.getUserId(principal), idempotencyKey);
+        } catch (EmptyCartException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
@@ -14,6 +17,9 @@ import java.util.List;
 @PreAuthorize("permitAll")
 public class ProductController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ProductDao productDao;
 
     public ProductController(ProductDao productDao) {
@@ -22,13 +28,27 @@ public class ProductController {
 
     // Get the list of products (Use Case 1)
     // Search for products (Use Case 2)
+    // q searches names and SKUs together and returns the best matches first.
+    // Without parameters the whole catalog comes back, as it always has. Passing cursor, limit or
+    // includeDescription=false asks for a page instead: at most limit products (default and maximum 100), ordered
+    // by name ignoring case and then product id, and an X-Next-Cursor header to pass back as cursor for the next page.
+    // includeDescription=false leaves out the description of every product on the page.
     @RequestMapping(path = "", method = RequestMethod.GET)
     public List<Product> list(@RequestParam(defaultValue = "") String sku,
-                              @RequestParam(defaultValue = "") String name) {
-        if (!name.equals("")) {
+                              @RequestParam(defaultValue = "") String name,
+                              @RequestParam(defaultValue = "") String q,
+                              @RequestParam(defaultValue = "") String cursor,
+                              @RequestParam(required = false) Integer limit,
+                              @RequestParam(defaultValue = "true") boolean includeDescription,
+                              HttpServletResponse response) {
+        if (!q.equals("")) {
+            return productDao.searchProducts(q);
+        } else if (!name.equals("")) {
             return productDao.getProductsByName(name);
         } else if (!sku.equals("")) {
             return productDao.getProductsBySku(sku);
+        } else if (!cursor.equals("") || limit != null || !includeDescription) {
+            return listPage(cursor, limit == null ? MAX_PAGE_SIZE : limit, includeDescription, response);
         } else {
             return productDao.getProducts();
         }
@@ -44,4 +64,33 @@ public class ProductController {
             return product;
         }
     }
+
+    private List<Product> listPage(String cursor, int limit, boolean includeDescription, HttpServletResponse response) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String afterName = null;
+        int afterProductId = 0;
+        if (!cursor.equals("")) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                afterProductId = Integer.parseInt(decoded.substring(0, separator));
+                afterName = decoded.substring(separator + 1);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        // Ask for one extra product to find out whether there is another page
+        List<Product> products = productDao.getProductsPage(afterName, afterProductId, limit + 1, includeDescription);
+        if (products.size() > limit) {
+            products = products.subList(0, limit);
+            Product last = products.get(limit - 1);
+            String next = last.getProductId() + ":" + last.getName();
+            response.setHeader(NEXT_CURSOR_HEADER,
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+        }
+        return products;
+    }
 }
@@ -0,0 +1,102 @@
+package com.techelevator.controller;
+
+import com.techelevator.dao.CartDao;
+import com.techelevator.dao.WishlistDao;
+import com.techelevator.model.Cart;
+import com.techelevator.model.Wishlist;
+import com.techelevator.model.WishlistItem;
+import com.techelevator.security.UserIdResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.validation.Valid;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/wishlists")
+@PreAuthorize("isAuthenticated()")
+public class WishlistController {
+
+    private final WishlistDao wishlistDao;
+    private final CartDao cartDao;
+    private final UserIdResolver userIdResolver;
+
+    public WishlistController(WishlistDao wishlistDao, CartDao cartDao, UserIdResolver userIdResolver) {
+        this.wishlistDao = wishlistDao;
+        this.cartDao = cartDao;
+        this.userIdResolver = userIdResolver;
+    }
+
+    // Get the user's wishlists, with their products
+    @RequestMapping(method = RequestMethod.GET)
+    public List<Wishlist> list(Principal principal) {
+        return wishlistDao.getWishlistsByUserId(userIdResolver.getUserId(principal));
+    }
+
+    // Get one of the user's wishlists
+    @RequestMapping(path = "/{wishlistId}", method = RequestMethod.GET)
+    public Wishlist get(@PathVariable int wishlistId, Principal principal) {
+        return getWishlist(userIdResolver.getUserId(principal), wishlistId);
+    }
+
+    // Create a wishlist, with any products given in its items
+    @ResponseStatus(HttpStatus.CREATED)
+    @RequestMapping(method = RequestMethod.POST)
+    public Wishlist create(@Valid @RequestBody Wishlist wishlist, Principal principal) {
+        return wishlistDao.createWishlist(userIdResolver.getUserId(principal), wishlist);
+    }
+
+    // Add a product to a wishlist; adding a product already on the list leaves it as it is
+    @ResponseStatus(HttpStatus.CREATED)
+    @RequestMapping(path = "/{wishlistId}/products/{productId}", method = RequestMethod.POST)
+    public Wishlist addProduct(@PathVariable int wishlistId, @PathVariable int productId, Principal principal) {
+        int userId = userIdResolver.getUserId(principal);
+        wishlistDao.addProductsToWishlist(userId, wishlistId, Collections.singletonList(productId));
+        Wishlist wishlist = getWishlist(userId, wishlistId);
+        for (WishlistItem item : wishlist.getItems()) {
+            if (item.getProductId() == productId) {
+                return wishlist;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product Not Found");
+    }
+
+    // Remove a product from a wishlist
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @RequestMapping(path = "/{wishlistId}/products/{productId}", method = RequestMethod.DELETE)
+    public void deleteProduct(@PathVariable int wishlistId, @PathVariable int productId, Principal principal) {
+        wishlistDao.deleteProductFromWishlist(userIdResolver.getUserId(principal), wishlistId, productId);
+    }
+
+    // Delete a wishlist and its items
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @RequestMapping(path = "/{wishlistId}", method = RequestMethod.DELETE)
+    public void delete(@PathVariable int wishlistId, Principal principal) {
+        if (wishlistDao.deleteWishlist(userIdResolver.getUserId(principal), wishlistId) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Wishlist Not Found");
+        }
+    }
+
+    // Move every product on a wishlist into the cart, leaving the wishlist empty
+    @RequestMapping(path = "/{wishlistId}/cart", method = RequestMethod.POST)
+    public Cart moveToCart(@PathVariable int wishlistId, Principal principal) {
+        int userId = userIdResolver.getUserId(principal);
+        if (wishlistDao.moveWishlistToCart(userId, wishlistId) == 0) {
+            // Nothing moved: either the wishlist is empty or it isn't one of the user's
+            getWishlist(userId, wishlistId);
+        }
+        return cartDao.getCartByUserId(userId);
+    }
+
+    private Wishlist getWishlist(int userId, int wishlistId) {
+        Wishlist wishlist = wishlistDao.getWishlistById(userId, wishlistId);
+        if (wishlist == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Wishlist Not Found");
+        }
+        return wishlist;
+    }
+}
@@ -0,0 +1,158 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.DaoException;
+import com.techelevator.model.Product;
+import com.techelevator.search.ProductSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductDao that answers every read from an in-memory snapshot of the catalog.
+ *
+ * The snapshot is loaded through JdbcProductDao on first use and replaced as a whole whenever the
+ * catalog_version counter (bumped by a trigger on every product change) moves, so readers always see a
+ * complete catalog and every app node converges within one refresh interval. Name and SKU searches go
+ * through a trigram index that is built with each snapshot and published along with it, so a search and a
+ * lookup by id always answer from the same version of the catalog.
+ */
+@Primary
+@Component
+public class CachingProductDao implements ProductDao {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingProductDao.class);
+
+    private final JdbcProductDao jdbcProductDao;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CachingProductDao(JdbcProductDao jdbcProductDao) {
+        this.jdbcProductDao = jdbcProductDao;
+    }
+
+    @Override
+    public List<Product> getProducts() {
+        return getSnapshot().products;
+    }
+
+    @Override
+    public List<Product> getProductsPage(String afterName, int afterProductId, int limit, boolean includeDescription) {
+        List<Product> products = getSnapshot().products;
+        int start = 0;
+        if (afterName != null) {
+            Product after = new Product();
+            after.setProductId(afterProductId);
+            after.setName(afterName);
+            int index = Collections.binarySearch(products, after, ProductSearchIndex.NAME_ORDER);
+            start = index >= 0 ? index + 1 : -index - 1;
+        }
+        List<Product> page = new ArrayList<>();
+        for (int i = start; i < products.size() && page.size() < limit; i++) {
+            Product product = products.get(i);
+            if (!includeDescription) {
+                product = new Product(product.getProductId(), product.getProductSku(), product.getName(), null,
+                        product.getPrice(), product.getImageName());
+            }
+            page.add(product);
+        }
+        return page;
+    }
+
+    @Override
+    public List<Product> getProductsBySku(String productSku) {
+        return getSnapshot().searchIndex.findBySku(productSku);
+    }
+
+    @Override
+    public List<Product> getProductsByName(String name) {
+        return getSnapshot().searchIndex.findByName(name);
+    }
+
+    @Override
+    public List<Product> searchProducts(String text) {
+        return getSnapshot().searchIndex.search(text);
+    }
+
+    @Override
+    public Product getProductById(int id) {
+        return getSnapshot().productsById.get(id);
+    }
+
+    public Product getProductBySku(String productSku) {
+        return getSnapshot().productsBySku.get(productSku.toUpperCase());
+    }
+
+    /**
+     * Reload the snapshot if the catalog has changed since it was taken.
+     */
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval-in-millis:5000}")
+    public void refresh() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (jdbcProductDao.getCatalogVersion() != current.version) {
+                snapshot = load();
+            }
+        } catch (DataAccessException | DaoException e) {
+            LOG.warn("Unable to refresh the product catalog, still serving version {}", current.version, e);
+        }
+    }
+
+    private CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private CatalogSnapshot load() {
+        // Read the version first: a change that lands while the products are loading moves the version
+        // again, and the next refresh picks it up.
+        long version = jdbcProductDao.getCatalogVersion();
+        CatalogSnapshot loaded = new CatalogSnapshot(version, jdbcProductDao.getProducts());
+        LOG.debug("Loaded product catalog version {} with {} products", version, loaded.products.size());
+        return loaded;
+    }
+
+    private static class CatalogSnapshot {
+        private final long version;
+        private final List<Product> products;
+        private final Map<Integer, Product> productsById;
+        private final Map<String, Product> productsBySku;
+        private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+
+        CatalogSnapshot(long version, List<Product> products) {
+            List<Product> sorted = new ArrayList<>(products);
+            sorted.sort(ProductSearchIndex.NAME_ORDER);
+            Map<Integer, Product> byId = new HashMap<>();
+            Map<String, Product> bySku = new HashMap<>();
+            for (Product product : sorted) {
+                byId.put(product.getProductId(), product);
+                bySku.put(product.getProductSku().toUpperCase(), product);
+            }
+            this.version = version;
+            this.products = Collections.unmodifiableList(sorted);
+            this.productsById = Collections.unmodifiableMap(byId);
+            this.productsBySku = Collections.unmodifiableMap(bySku);
+            searchIndex.addAll(sorted);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserDao that keeps the credentials read on every login in a bounded, time-limited cache, so repeated logins
+ * don't query the users table each time.
+ *
+ * A cached entry is dropped when its user is created or changed through this DAO, and in any case after the
+ * time to live, which bounds how long a change made elsewhere (for instance directly in the database) goes
+ * unseen. Cached users are shared between callers and must not be modified.
+ */
+@Primary
+@Component
+public class CachingUserDao implements UserDao {
+
+    private final JdbcUserDao jdbcUserDao;
+    private final long timeToLiveMillis;
+    private final int maxSize;
+    private final Map<String, CachedCredentials> credentialsByUsername;
+
+    public CachingUserDao(JdbcUserDao jdbcUserDao,
+                          @Value("${user-cache.ttl-in-seconds:300}") long timeToLiveInSeconds,
+                          @Value("${user-cache.max-size:10000}") int maxSize) {
+        this.jdbcUserDao = jdbcUserDao;
+        this.timeToLiveMillis = timeToLiveInSeconds * 1000;
+        this.maxSize = maxSize;
+        this.credentialsByUsername = new LinkedHashMap<String, CachedCredentials>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCredentials> eldest) {
+                return size() > CachingUserDao.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public List<User> getUsers() {
+        return jdbcUserDao.getUsers();
+    }
+
+    @Override
+    public User getUserById(int userId) {
+        return jdbcUserDao.getUserById(userId);
+    }
+
+    @Override
+    public User getUserByUsername(String username) {
+        return jdbcUserDao.getUserByUsername(username);
+    }
+
+    @Override
+    public User getUserCredentialsByUsername(String username) {
+        if (username == null || maxSize <= 0 || timeToLiveMillis <= 0) {
+            return jdbcUserDao.getUserCredentialsByUsername(username);
+        }
+        String key = cacheKey(username);
+        long now = System.currentTimeMillis();
+        synchronized (credentialsByUsername) {
+            CachedCredentials cached = credentialsByUsername.get(key);
+            if (cached != null && now - cached.loadedAt < timeToLiveMillis) {
+                return cached.user;
+            }
+        }
+
+        User user = jdbcUserDao.getUserCredentialsByUsername(username);
+        if (user != null) {
+            synchronized (credentialsByUsername) {
+                credentialsByUsername.put(key, new CachedCredentials(user, now));
+            }
+        }
+        return user;
+    }
+
+    @Override
+    public User createUser(User newUser) {
+        try {
+            return jdbcUserDao.createUser(newUser);
+        } finally {
+            evict(newUser.getUsername());
+        }
+    }
+
+    /**
+     * Drop the cached credentials of a user, so the next login reads them from the database.
+     */
+    public void evict(String username) {
+        if (username != null) {
+            synchronized (credentialsByUsername) {
+                credentialsByUsername.remove(cacheKey(username));
+            }
+        }
+    }
+
+    // Usernames are stored trimmed and in lower case, and looked up the same way
+    private static String cacheKey(String username) {
+        return username.trim().toLowerCase();
+    }
+
+    private static class CachedCredentials {
+        private final User user;
+        private final long loadedAt;
+
+        CachedCredentials(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
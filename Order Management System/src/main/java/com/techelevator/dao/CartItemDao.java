@@ -1,6 +1,9 @@
 package com.techelevator.dao;
 
 import com.techelevator.model.CartItem;
+import com.techelevator.model.CartItemOperation;
+
+import java.util.List;
 
 public interface CartItemDao {
 
@@ -12,4 +15,6 @@ public interface CartItemDao {
 
     int deleteCartByUserId(int userId);
 
+    int applyCartItemOperations(int userId, List<CartItemOperation> operations);
+
 }
@@ -0,0 +1,47 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Cart;
+import com.techelevator.model.CartItemDetails;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * CartPricing computes the subtotal, tax and total of a cart from a single snapshot of its lines,
+ * so that pricing a cart never has to go back to the database or the tax service.
+ *
+ * Amounts are added up in whole cents, so the subtotal and total are exact and only the tax is rounded.
+ * Tax rates are fractions of the subtotal (0.0575 for 5.75%), as TaxRateCache hands them out.
+ */
+public final class CartPricing {
+
+    private CartPricing() {
+    }
+
+    public static Cart price(List<CartItemDetails> itemsInCart, BigDecimal taxRate) {
+        Money subtotal = subtotal(itemsInCart);
+        Money taxAmount = taxAmount(subtotal, taxRate);
+        return new Cart(itemsInCart, subtotal.toBigDecimal(), taxAmount.toBigDecimal(),
+                cartTotal(subtotal, taxAmount).toBigDecimal());
+    }
+
+    public static Money subtotal(List<CartItemDetails> itemsInCart) {
+        long cents = 0;
+        for (CartItemDetails cartItemDetail : itemsInCart) {
+            cents = Math.addExact(cents,
+                    Math.multiplyExact(Money.centsOf(cartItemDetail.getPrice()), cartItemDetail.getQuantity()));
+        }
+        return Money.ofCents(cents);
+    }
+
+    /**
+     * @param taxRate The rate as a fraction, e.g. 0.0575 for 5.75%, not as the percent the tax service reports.
+     */
+    public static Money taxAmount(Money subtotal, BigDecimal taxRate) {
+        return subtotal.taxAt(taxRate);
+    }
+
+    public static Money cartTotal(Money subtotal, Money taxAmount) {
+        return subtotal.plus(taxAmount);
+    }
+}
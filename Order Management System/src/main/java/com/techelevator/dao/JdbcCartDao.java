@@ -1,24 +1,71 @@
 package com.techelevator.dao;
 
+import com.techelevator.exception.DaoException;
 import com.techelevator.model.Cart;
+import com.techelevator.model.CartItemDetails;
+import com.techelevator.tax.TaxRateCache;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Component
 public class JdbcCartDao implements CartDao {
 
-    private final JdbcCartItemDetailsDao jdbcCartItemDetailsDao;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaxRateCache taxRateCache;
 
-    public JdbcCartDao(JdbcCartItemDetailsDao jdbcCartItemDetailsDao) {
-        this.jdbcCartItemDetailsDao = jdbcCartItemDetailsDao;
+    public JdbcCartDao(JdbcTemplate jdbcTemplate, TaxRateCache taxRateCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taxRateCache = taxRateCache;
     }
 
     @Override
     public Cart getCartByUserId(int userId) {
-        Cart cart = new Cart();
-        cart.setItemsInCart(jdbcCartItemDetailsDao.getCartItemDetailsByUserId(userId));
-        cart.setSubtotal(jdbcCartItemDetailsDao.getSubtotal(userId));
-        cart.setTaxAmount(jdbcCartItemDetailsDao.getTaxAmount(userId));
-        cart.setCartTotal(jdbcCartItemDetailsDao.getCartTotal(userId));
-        return cart;
+        List<CartItemDetails> itemsInCart = new ArrayList<>();
+        CompletableFuture<BigDecimal> taxRate;
+        // One round trip: the user's state and every cart line. The LEFT JOINs keep the user row
+        // even when the cart is empty.
+        String sql = "SELECT u.state_code, p.name, ci.quantity, p.price FROM users u " +
+                "LEFT JOIN cart_item ci ON ci.user_id = u.user_id " +
+                "LEFT JOIN product p ON p.product_id = ci.product_id " +
+                "WHERE u.user_id = ?";
+        try {
+            ResultSetExtractor<CompletableFuture<BigDecimal>> cartLines = results -> {
+                // An empty cart owes no tax, so there is no reason to ask the tax service
+                CompletableFuture<BigDecimal> userTaxRate = CompletableFuture.completedFuture(BigDecimal.ZERO);
+                while (results.next()) {
+                    if (results.getString("name") != null) {
+                        if (itemsInCart.isEmpty()) {
+                            // Look up the tax rate while the rest of the cart is read
+                            userTaxRate = taxRateCache.getSalesTaxRateAsync(results.getString("state_code"));
+                        }
+                        itemsInCart.add(mapRowToCartItemDetails(results, itemsInCart.size()));
+                    }
+                }
+                return userTaxRate;
+            };
+            taxRate = jdbcTemplate.query(sql, cartLines, userId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+
+        // Never fails, and falls back to the last known rate once the tax timeout has passed
+        return CartPricing.price(itemsInCart, taxRate.join());
+    }
+
+    private CartItemDetails mapRowToCartItemDetails(ResultSet results, int rowNum) throws SQLException {
+        CartItemDetails cartItemDetails = new CartItemDetails();
+        cartItemDetails.setProductName(results.getString("name"));
+        cartItemDetails.setQuantity(results.getInt("quantity"));
+        cartItemDetails.setPrice(results.getBigDecimal("price"));
+        return cartItemDetails;
     }
 }
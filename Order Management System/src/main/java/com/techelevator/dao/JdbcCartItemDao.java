@@ -2,19 +2,37 @@ package com.techelevator.dao;
 
 import com.techelevator.exception.DaoException;
 import com.techelevator.model.CartItem;
+import com.techelevator.model.CartItemOperation;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Component;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every change to a cart runs under the user's lock from UserLocks, so concurrent requests from the same user
+ * apply one after another instead of interleaving. Moving a wishlist into the cart and checking out take the same
+ * lock.
+ */
 @Component
 public class JdbcCartItemDao implements CartItemDao {
 
+    private static final String ADD_SQL = "INSERT INTO cart_item (user_id, product_id, quantity) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id, product_id) DO UPDATE SET quantity = cart_item.quantity + EXCLUDED.quantity";
+    private static final String SET_SQL = "INSERT INTO cart_item (user_id, product_id, quantity) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id, product_id) DO UPDATE SET quantity = EXCLUDED.quantity";
+    private static final String REMOVE_SQL = "DELETE FROM cart_item WHERE user_id = ? AND product_id = ?";
+
     private final JdbcTemplate jdbcTemplate;
+    private final UserLocks userLocks;
 
-    public JdbcCartItemDao(JdbcTemplate jdbcTemplate) {
+    public JdbcCartItemDao(JdbcTemplate jdbcTemplate, UserLocks userLocks) {
         this.jdbcTemplate = jdbcTemplate;
+        this.userLocks = userLocks;
     }
 
     @Override
@@ -22,10 +40,7 @@ public class JdbcCartItemDao implements CartItemDao {
         CartItem cartItem = null;
         String sql = "SELECT * FROM cart_item WHERE cart_item_id = ?";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, cartItemId);
-            if (results.next()) {
-                cartItem = mapRowToCartItem(results);
-            }
+            cartItem = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToCartItem, cartItemId);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -35,46 +50,18 @@ public class JdbcCartItemDao implements CartItemDao {
     @Override
     public CartItem putItemInCart(int userId, CartItem newCartItem) {
         CartItem cartItem = null;
-        int quantity = 0;
-        String sql = "SELECT quantity FROM cart_item WHERE user_id = ? AND product_id = ?";
-        int productId = newCartItem.getProductId();
+        // Single statement: IX_cart_item_user_product turns a second add of the same product into an
+        // increment, so concurrent adds can't race and the row comes back in the same round trip.
+        String sql = "INSERT INTO cart_item (user_id, product_id, quantity) VALUES (?, ?, ?) " +
+                "ON CONFLICT (user_id, product_id) DO UPDATE SET quantity = cart_item.quantity + EXCLUDED.quantity " +
+                "RETURNING cart_item_id, user_id, product_id, quantity";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, userId, productId);
-            if (results.next()) {
-                quantity = results.getInt("product_id");
-            }
+            cartItem = userLocks.withLock(userId, () -> StreamingQueries.queryForFirst(jdbcTemplate, sql,
+                    this::mapRowToCartItem, userId, newCartItem.getProductId(), newCartItem.getQuantity()));
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
-        }
-        if (quantity > 0) {
-            quantity += newCartItem.getQuantity();
-            String updateSql = "UPDATE cart_item SET quantity = ? " +
-                    "WHERE user_id = ? AND product_id = ? RETURNING cart_item_id";
-            try {
-                int numberOfRows = jdbcTemplate.update(updateSql, quantity, userId, newCartItem.getProductId());
-                if (numberOfRows == 0) {
-                    throw new DaoException("Zero rows affected, expected at least one");
-                } else {
-                    cartItem = getCartItemByCartItemId(newCartItem.getCartItemId());
-                }
-            } catch (CannotGetJdbcConnectionException e) {
-                throw new DaoException("Unable to connect to server or database", e);
-            } catch (DataIntegrityViolationException e) {
-                throw new DaoException("Data integrity violation", e);
-            }
-            return cartItem;
-        } else {
-            String insertSql = "INSERT INTO cart_item (user_id, product_id, quantity) " +
-                    "VALUES (?, ?, ?) RETURNING cart_item_id";
-            try {
-                int newCartItemId = jdbcTemplate.queryForObject(insertSql, int.class,
-                        userId, newCartItem.getProductId(), newCartItem.getQuantity());
-                cartItem = getCartItemByCartItemId(newCartItemId);
-            } catch (CannotGetJdbcConnectionException e) {
-                throw new DaoException("Unable to connect to server or database", e);
-            } catch (DataIntegrityViolationException e) {
-                throw new DaoException("Data integrity violation", e);
-            }
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
         }
         return cartItem;
     }
@@ -84,7 +71,7 @@ public class JdbcCartItemDao implements CartItemDao {
         int numberOfRows = 0;
         String sql = "DELETE FROM cart_item WHERE user_id = ? AND product_id = ?";
         try {
-            numberOfRows = jdbcTemplate.update(sql, userId, productId);
+            numberOfRows = userLocks.withLock(userId, () -> jdbcTemplate.update(sql, userId, productId));
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         } catch (DataIntegrityViolationException e) {
@@ -98,7 +85,7 @@ public class JdbcCartItemDao implements CartItemDao {
         int numberOfRows = 0;
         String sql = "DELETE FROM cart_item WHERE user_id = ?";
         try {
-            numberOfRows = jdbcTemplate.update(sql, userId);
+            numberOfRows = userLocks.withLock(userId, () -> jdbcTemplate.update(sql, userId));
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         } catch (DataIntegrityViolationException e) {
@@ -107,7 +94,63 @@ public class JdbcCartItemDao implements CartItemDao {
         return numberOfRows;
     }
 
-    private CartItem mapRowToCartItem(SqlRowSet results) {
+    @Override
+    public int applyCartItemOperations(int userId, List<CartItemOperation> operations) {
+        int numberOfRows = 0;
+        try {
+            numberOfRows = userLocks.withLock(userId, () -> applyOperations(userId, operations));
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return numberOfRows;
+    }
+
+    private int applyOperations(int userId, List<CartItemOperation> operations) {
+        int numberOfRows = 0;
+        // Consecutive operations of the same kind go out as one JDBC batch; a change of kind flushes the
+        // batch so the operations still apply in the order they were given.
+        String batchSql = null;
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (CartItemOperation operation : operations) {
+            String sql;
+            Object[] args;
+            if (CartItemOperation.REMOVE.equals(operation.getOperation())
+                    || (CartItemOperation.SET.equals(operation.getOperation()) && operation.getQuantity() == 0)) {
+                sql = REMOVE_SQL;
+                args = new Object[]{userId, operation.getProductId()};
+            } else if (CartItemOperation.SET.equals(operation.getOperation())) {
+                sql = SET_SQL;
+                args = new Object[]{userId, operation.getProductId(), operation.getQuantity()};
+            } else if (CartItemOperation.ADD.equals(operation.getOperation())) {
+                sql = ADD_SQL;
+                args = new Object[]{userId, operation.getProductId(), operation.getQuantity()};
+            } else {
+                throw new DaoException("Unknown cart operation '" + operation.getOperation() + "'");
+            }
+            if (!sql.equals(batchSql)) {
+                numberOfRows += executeBatch(batchSql, batchArgs);
+                batchSql = sql;
+                batchArgs = new ArrayList<>();
+            }
+            batchArgs.add(args);
+        }
+        numberOfRows += executeBatch(batchSql, batchArgs);
+        return numberOfRows;
+    }
+
+    private int executeBatch(String sql, List<Object[]> batchArgs) {
+        int numberOfRows = 0;
+        if (sql != null && !batchArgs.isEmpty()) {
+            for (int rows : jdbcTemplate.batchUpdate(sql, batchArgs)) {
+                numberOfRows += Math.max(rows, 0);
+            }
+        }
+        return numberOfRows;
+    }
+
+    CartItem mapRowToCartItem(ResultSet results, int rowNum) throws SQLException {
         CartItem cartItem = new CartItem();
         cartItem.setCartItemId(results.getInt("cart_item_id"));
         cartItem.setUserId(results.getInt("user_id"));
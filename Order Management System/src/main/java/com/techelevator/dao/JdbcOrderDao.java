@@ -0,0 +1,208 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.DaoException;
+import com.techelevator.exception.EmptyCartException;
+import com.techelevator.model.CartItemDetails;
+import com.techelevator.model.Order;
+import com.techelevator.model.OrderItem;
+import com.techelevator.tax.TaxRateCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checkout runs a fixed number of statements per order however many lines the cart has: the lines are read in
+ * one query, written in one insert and removed from the cart in one delete, all in the same transaction.
+ */
+@Component
+public class JdbcOrderDao implements OrderDao {
+
+    private static final String ORDER_SELECT = "SELECT o.order_id, o.user_id, o.request_id, o.created, o.state_code, " +
+            "o.subtotal, o.tax_rate, o.tax_amount, o.total, " +
+            "oi.order_item_id, oi.product_id, oi.product_name, oi.quantity, oi.price " +
+            "FROM orders o " +
+            "LEFT JOIN order_item oi ON oi.order_id = o.order_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaxRateCache taxRateCache;
+    private final UserLocks userLocks;
+    private final ResultSetExtractor<Order> orderExtractor = this::mapRowsToOrder;
+
+    public JdbcOrderDao(JdbcTemplate jdbcTemplate, TaxRateCache taxRateCache, UserLocks userLocks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taxRateCache = taxRateCache;
+        this.userLocks = userLocks;
+    }
+
+    @Override
+    public Order getOrderByRequestId(int userId, String requestId) {
+        Order order;
+        String sql = ORDER_SELECT + "WHERE o.user_id = ? AND o.request_id = ? ORDER BY oi.order_item_id";
+        try {
+            order = jdbcTemplate.query(sql, orderExtractor, userId, requestId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return order;
+    }
+
+    @Override
+    public Order placeOrder(int userId, String requestId) {
+        try {
+            // The user's cart lock keeps cart changes out while the cart is turned into an order, and runs the
+            // whole checkout in one transaction
+            return userLocks.withLock(userId, () -> checkout(userId, requestId));
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+    }
+
+    private Order checkout(int userId, String requestId) {
+        // Locking the user row makes concurrent checkouts for the same user wait for each other, so a retried
+        // request sees the order its first attempt placed instead of placing it twice
+        String lockUserSql = "SELECT state_code FROM users WHERE user_id = ? FOR UPDATE";
+        String cartSql = "SELECT ci.product_id, p.name AS product_name, ci.quantity, p.price FROM cart_item ci " +
+                "JOIN product p ON p.product_id = ci.product_id " +
+                "WHERE ci.user_id = ? ORDER BY ci.cart_item_id FOR UPDATE OF ci";
+        String insertOrderSql = "INSERT INTO orders (user_id, request_id, state_code, subtotal, tax_rate, tax_amount, total) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING order_id, created";
+        String insertItemsSql = "INSERT INTO order_item (order_id, product_id, product_name, quantity, price) " +
+                "SELECT ?, line.product_id, line.product_name, line.quantity, line.price " +
+                "FROM unnest(?, ?, ?, ?) WITH ORDINALITY AS line (product_id, product_name, quantity, price, position) " +
+                "ORDER BY line.position " +
+                "RETURNING order_item_id, product_id, product_name, quantity, price";
+        String deleteCartSql = "DELETE FROM cart_item WHERE user_id = ? AND product_id = ANY(?)";
+        String stateCode;
+        try {
+            stateCode = jdbcTemplate.queryForObject(lockUserSql, (results, rowNum) -> results.getString("state_code"),
+                    userId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new DaoException("User not found", e);
+        }
+        Order existing = getOrderByRequestId(userId, requestId);
+        if (existing != null) {
+            return existing;
+        }
+
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setRequestId(requestId);
+        order.setStateCode(stateCode);
+        // Look up the tax rate while the cart is read
+        CompletableFuture<BigDecimal> taxRate = taxRateCache.getSalesTaxRateAsync(order.getStateCode());
+
+        List<OrderItem> lines = jdbcTemplate.query(cartSql, this::mapRowToCartLine, userId);
+        if (lines.isEmpty()) {
+            throw new EmptyCartException("Cart is empty");
+        }
+        priceOrder(order, lines, taxRate.join());
+
+        jdbcTemplate.queryForObject(insertOrderSql, (results, rowNum) -> {
+            order.setOrderId(results.getInt("order_id"));
+            order.setCreated(results.getTimestamp("created").toLocalDateTime());
+            return order;
+        }, userId, requestId, order.getStateCode(), order.getSubtotal(), order.getTaxRate(), order.getTaxAmount(),
+                order.getTotal());
+
+        Integer[] productIds = new Integer[lines.size()];
+        String[] productNames = new String[lines.size()];
+        Integer[] quantities = new Integer[lines.size()];
+        BigDecimal[] prices = new BigDecimal[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            OrderItem line = lines.get(i);
+            productIds[i] = line.getProductId();
+            productNames[i] = line.getProductName();
+            quantities[i] = line.getQuantity();
+            prices[i] = line.getPrice();
+        }
+        int orderId = order.getOrderId();
+        List<OrderItem> items = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(insertItemsSql);
+            statement.setInt(1, orderId);
+            statement.setArray(2, connection.createArrayOf("int", productIds));
+            statement.setArray(3, connection.createArrayOf("varchar", productNames));
+            statement.setArray(4, connection.createArrayOf("int", quantities));
+            statement.setArray(5, connection.createArrayOf("numeric", prices));
+            return statement;
+        }, this::mapRowToOrderItem);
+        items.sort(Comparator.comparingInt(OrderItem::getOrderItemId));
+        order.setItems(items);
+
+        // Only the lines that were ordered; anything added to the cart since it was read stays there
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(deleteCartSql);
+            statement.setInt(1, userId);
+            statement.setArray(2, connection.createArrayOf("int", productIds));
+            return statement;
+        });
+        return order;
+    }
+
+    // Prices are snapshotted from the cart lines exactly as the cart is priced
+    private void priceOrder(Order order, List<OrderItem> lines, BigDecimal taxRate) {
+        List<CartItemDetails> cartLines = new ArrayList<>(lines.size());
+        for (OrderItem line : lines) {
+            cartLines.add(new CartItemDetails(line.getProductName(), line.getQuantity(), line.getPrice()));
+        }
+        Money subtotal = CartPricing.subtotal(cartLines);
+        Money taxAmount = CartPricing.taxAmount(subtotal, taxRate);
+        order.setSubtotal(subtotal.toBigDecimal());
+        order.setTaxRate(taxRate);
+        order.setTaxAmount(taxAmount.toBigDecimal());
+        order.setTotal(CartPricing.cartTotal(subtotal, taxAmount).toBigDecimal());
+    }
+
+    // The joined rows come ordered by item, with a single row with null item columns for an order without items
+    private Order mapRowsToOrder(ResultSet results) throws SQLException {
+        Order order = null;
+        while (results.next()) {
+            if (order == null) {
+                order = new Order();
+                order.setOrderId(results.getInt("order_id"));
+                order.setUserId(results.getInt("user_id"));
+                order.setRequestId(results.getString("request_id"));
+                order.setCreated(results.getTimestamp("created").toLocalDateTime());
+                order.setStateCode(results.getString("state_code"));
+                order.setSubtotal(results.getBigDecimal("subtotal"));
+                order.setTaxRate(results.getBigDecimal("tax_rate"));
+                order.setTaxAmount(results.getBigDecimal("tax_amount"));
+                order.setTotal(results.getBigDecimal("total"));
+            }
+            results.getInt("order_item_id");
+            if (!results.wasNull()) {
+                order.getItems().add(mapRowToOrderItem(results, order.getItems().size()));
+            }
+        }
+        return order;
+    }
+
+    private OrderItem mapRowToOrderItem(ResultSet results, int rowNum) throws SQLException {
+        OrderItem orderItem = mapRowToCartLine(results, rowNum);
+        orderItem.setOrderItemId(results.getInt("order_item_id"));
+        return orderItem;
+    }
+
+    // A cart line about to be ordered, which has no order_item_id yet
+    private OrderItem mapRowToCartLine(ResultSet results, int rowNum) throws SQLException {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setProductId(results.getInt("product_id"));
+        orderItem.setProductName(results.getString("product_name"));
+        orderItem.setQuantity(results.getInt("quantity"));
+        orderItem.setPrice(results.getBigDecimal("price"));
+        return orderItem;
+    }
+}
@@ -4,15 +4,19 @@ import com.techelevator.exception.DaoException;
 import com.techelevator.model.Product;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 @Component
 public class JdbcProductDao implements ProductDao {
 
+    // The one order every product list uses, here and in CachingProductDao: ProductSearchIndex.NAME_ORDER. Byte
+    // order of the lower-cased name doesn't depend on the database's collation, and IX_product_name_id covers it.
+    private static final String NAME_ORDER = "LOWER(name) COLLATE \"C\", product_id";
+
     private final JdbcTemplate jdbcTemplate;
 
     public JdbcProductDao(JdbcTemplate jdbcTemplate) {
@@ -21,14 +25,30 @@ public class JdbcProductDao implements ProductDao {
 
     @Override
     public List<Product> getProducts() {
-        List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM product ORDER BY name";
+        List<Product> products;
+        String sql = "SELECT * FROM product ORDER BY " + NAME_ORDER;
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql);
-            while (results.next()) {
-                Product product = mapRowToProduct(results);
-                products.add(product);
-            }
+            products = jdbcTemplate.query(sql, this::mapRowToProduct);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return products;
+    }
+
+    @Override
+    public List<Product> getProductsPage(String afterName, int afterProductId, int limit, boolean includeDescription) {
+        List<Product> products;
+        // Keyset pagination: continue after the last (name, product_id) seen, so every page is an index
+        // range scan on IX_product_name_id no matter how deep into the catalog it is.
+        String sql = "SELECT product_id, product_sku, name, " +
+                (includeDescription ? "description" : "NULL AS description") + ", price, image_name FROM product " +
+                (afterName == null ? "" :
+                        "WHERE (LOWER(name) COLLATE \"C\", product_id) > (LOWER(?) COLLATE \"C\", ?) ") +
+                "ORDER BY " + NAME_ORDER + " LIMIT ?";
+        try {
+            products = afterName == null ?
+                    jdbcTemplate.query(sql, this::mapRowToProduct, limit) :
+                    jdbcTemplate.query(sql, this::mapRowToProduct, afterName, afterProductId, limit);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -37,15 +57,11 @@ public class JdbcProductDao implements ProductDao {
 
     @Override
     public List<Product> getProductsBySku(String sku) {
-        List<Product> products = new ArrayList<>();
+        List<Product> products;
         sku = "%" + sku + "%";
-        String sql = "SELECT * FROM product WHERE product_sku ILIKE ? ORDER BY name";
+        String sql = "SELECT * FROM product WHERE product_sku ILIKE ? ORDER BY " + NAME_ORDER;
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, sku);
-            while (results.next()) {
-                Product product = mapRowToProduct(results);
-                products.add(product);
-            }
+            products = jdbcTemplate.query(sql, this::mapRowToProduct, sku);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -54,15 +70,32 @@ public class JdbcProductDao implements ProductDao {
 
     @Override
     public List<Product> getProductsByName(String name) {
-        List<Product> products = new ArrayList<>();
+        List<Product> products;
         name = "%" + name + "%";
-        String sql = "SELECT * FROM product WHERE name ILIKE ? ORDER BY name";
+        String sql = "SELECT * FROM product WHERE name ILIKE ? ORDER BY " + NAME_ORDER;
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, name);
-            while (results.next()) {
-                Product product = mapRowToProduct(results);
-                products.add(product);
-            }
+            products = jdbcTemplate.query(sql, this::mapRowToProduct, name);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return products;
+    }
+
+    @Override
+    public List<Product> searchProducts(String text) {
+        List<Product> products;
+        // Ranked and ordered exactly as ProductSearchIndex.search ranks and orders them: an exact match, then a
+        // match at the start of the name or SKU, then at the start of a word, then anywhere, with ties in
+        // NAME_ORDER. The text is matched literally, so % and _ in it are not wildcards.
+        String search = text.toLowerCase();
+        String wordStart = "[^[:alnum:]]" + quoteRegex(search);
+        String sql = "SELECT * FROM product WHERE strpos(LOWER(name), ?) > 0 OR strpos(LOWER(product_sku), ?) > 0 " +
+                "ORDER BY CASE WHEN LOWER(name) = ? OR LOWER(product_sku) = ? THEN 0 " +
+                "WHEN strpos(LOWER(name), ?) = 1 OR strpos(LOWER(product_sku), ?) = 1 THEN 1 " +
+                "WHEN LOWER(name) ~ ? OR LOWER(product_sku) ~ ? THEN 2 ELSE 3 END, " + NAME_ORDER;
+        try {
+            products = jdbcTemplate.query(sql, this::mapRowToProduct, search, search, search, search, search, search,
+                    wordStart, wordStart);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -74,17 +107,43 @@ public class JdbcProductDao implements ProductDao {
         Product product = null;
         String sql = "SELECT * FROM product WHERE product_id = ?";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, id);
-            if (results.next()) {
-                product = mapRowToProduct(results);
-            }
+            product = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToProduct, id);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
         return product;
     }
 
-    private Product mapRowToProduct(SqlRowSet results) {
+    public long getCatalogVersion() {
+        long version = 0;
+        String sql = "SELECT version FROM catalog_version";
+        try {
+            Long result = StreamingQueries.queryForFirst(jdbcTemplate, sql,
+                    (results, rowNum) -> results.getLong("version"));
+            if (result != null) {
+                version = result;
+            }
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return version;
+    }
+
+    // Every character that isn't a letter or digit is escaped, which in a Postgres regular expression makes it
+    // stand for itself
+    private static String quoteRegex(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() * 2);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                quoted.append('\\');
+            }
+            quoted.append(c);
+        }
+        return quoted.toString();
+    }
+
+    Product mapRowToProduct(ResultSet results, int rowNum) throws SQLException {
         Product product = new Product();
         product.setProductId(results.getInt("product_id"));
         product.setProductSku(results.getString("product_sku"));
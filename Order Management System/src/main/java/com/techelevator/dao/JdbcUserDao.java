@@ -1,6 +1,7 @@
 package com.techelevator.dao;
 
-import java.util.ArrayList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Objects;
 
@@ -8,8 +9,7 @@ import com.techelevator.exception.DaoException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import com.techelevator.model.User;
 
@@ -17,9 +17,11 @@ import com.techelevator.model.User;
 public class JdbcUserDao implements UserDao {
 
     private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
 
-    public JdbcUserDao(JdbcTemplate jdbcTemplate) {
+    public JdbcUserDao(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
         this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
@@ -27,10 +29,7 @@ public class JdbcUserDao implements UserDao {
         User user = null;
         String sql = "SELECT * FROM users WHERE user_id = ?";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, userId);
-            if (results.next()) {
-                user = mapRowToUser(results);
-            }
+            user = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToUser, userId);
         }
         catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
@@ -40,14 +39,10 @@ public class JdbcUserDao implements UserDao {
 
     @Override
     public List<User> getUsers() {
-        List<User> users = new ArrayList<>();
+        List<User> users;
         String sql = "SELECT * FROM users ORDER BY username";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql);
-            while (results.next()) {
-                User user = mapRowToUser(results);
-                users.add(user);
-            }
+            users = jdbcTemplate.query(sql, this::mapRowToUser);
         }
         catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
@@ -63,10 +58,20 @@ public class JdbcUserDao implements UserDao {
         User user = null;
         String sql = "SELECT * FROM users WHERE username = LOWER(TRIM(?))";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, username);
-            if (results.next()) {
-                user = mapRowToUser(results);
-            }
+            user = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToUser, username);
+        }
+        catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return user;
+    }
+
+    @Override
+    public User getUserCredentialsByUsername(String username) {
+        User user = null;
+        String sql = "SELECT user_id, username, password_hash, role FROM users WHERE username = LOWER(TRIM(?))";
+        try {
+            user = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToUserCredentials, username);
         }
         catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
@@ -82,7 +87,7 @@ public class JdbcUserDao implements UserDao {
             throw new DaoException("User cannot be created with null password");
         }
         try {
-            String password_hash = new BCryptPasswordEncoder().encode(newUser.getPassword());
+            String password_hash = passwordEncoder.encode(newUser.getPassword());
 
             int userId = jdbcTemplate.queryForObject(insertUserSql, int.class,
                     newUser.getUsername(), password_hash, newUser.getAuthoritiesString(), newUser.getName(), newUser.getAddress(),
@@ -98,7 +103,7 @@ public class JdbcUserDao implements UserDao {
         return user;
     }
 
-    private User mapRowToUser(SqlRowSet rs) {
+    private User mapRowToUser(ResultSet rs, int rowNum) throws SQLException {
         User user = new User();
         user.setId(rs.getInt("user_id"));
         user.setUsername(rs.getString("username"));
@@ -112,4 +117,14 @@ public class JdbcUserDao implements UserDao {
         user.setActivated(true);
         return user;
     }
+
+    private User mapRowToUserCredentials(ResultSet rs, int rowNum) throws SQLException {
+        User user = new User();
+        user.setId(rs.getInt("user_id"));
+        user.setUsername(rs.getString("username"));
+        user.setPassword(rs.getString("password_hash"));
+        user.setAuthorities(Objects.requireNonNull(rs.getString("role")));
+        user.setActivated(true);
+        return user;
+    }
 }
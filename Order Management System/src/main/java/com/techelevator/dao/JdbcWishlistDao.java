@@ -0,0 +1,215 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.DaoException;
+import com.techelevator.model.Product;
+import com.techelevator.model.Wishlist;
+import com.techelevator.model.WishlistItem;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wishlists are read together with their items and products in one joined query, and items are written with
+ * set-based statements, so the number of round trips doesn't grow with the size of a wishlist.
+ */
+@Component
+public class JdbcWishlistDao implements WishlistDao {
+
+    private static final String WISHLIST_SELECT = "SELECT w.wishlist_id, w.user_id, w.name, wi.wishlist_item_id, " +
+            "p.product_id, p.product_sku, p.name AS product_name, p.description, p.price, p.image_name " +
+            "FROM wishlist w " +
+            "LEFT JOIN wishlist_item wi ON wi.wishlist_id = w.wishlist_id " +
+            "LEFT JOIN product p ON p.product_id = wi.product_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserLocks userLocks;
+    private final ResultSetExtractor<List<Wishlist>> wishlistsExtractor = this::mapRowsToWishlists;
+
+    public JdbcWishlistDao(JdbcTemplate jdbcTemplate, UserLocks userLocks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userLocks = userLocks;
+    }
+
+    @Override
+    public List<Wishlist> getWishlistsByUserId(int userId) {
+        List<Wishlist> wishlists;
+        String sql = WISHLIST_SELECT + "WHERE w.user_id = ? ORDER BY w.wishlist_id, wi.wishlist_item_id";
+        try {
+            wishlists = jdbcTemplate.query(sql, wishlistsExtractor, userId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return wishlists;
+    }
+
+    @Override
+    public Wishlist getWishlistById(int userId, int wishlistId) {
+        Wishlist wishlist = null;
+        String sql = WISHLIST_SELECT + "WHERE w.wishlist_id = ? AND w.user_id = ? ORDER BY wi.wishlist_item_id";
+        try {
+            List<Wishlist> wishlists = jdbcTemplate.query(sql, wishlistsExtractor, wishlistId, userId);
+            if (wishlists != null && !wishlists.isEmpty()) {
+                wishlist = wishlists.get(0);
+            }
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return wishlist;
+    }
+
+    @Override
+    @Transactional
+    public Wishlist createWishlist(int userId, Wishlist newWishlist) {
+        String sql = "INSERT INTO wishlist (user_id, name) VALUES (?, ?) RETURNING wishlist_id";
+        try {
+            Integer wishlistId = jdbcTemplate.queryForObject(sql, Integer.class, userId, newWishlist.getName());
+            if (wishlistId == null) {
+                throw new DaoException("Wishlist was not created");
+            }
+            List<Integer> productIds = new ArrayList<>();
+            for (WishlistItem item : newWishlist.getItems()) {
+                productIds.add(item.getProductId());
+            }
+            addProductsToWishlist(userId, wishlistId, productIds);
+            return getWishlistById(userId, wishlistId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+    }
+
+    @Override
+    public int addProductsToWishlist(int userId, int wishlistId, Collection<Integer> productIds) {
+        int numberOfRows = 0;
+        if (productIds.isEmpty()) {
+            return numberOfRows;
+        }
+        // One statement for any number of products, added in the order given. Joining to wishlist and product
+        // skips products that don't exist and wishlists that belong to someone else; ON CONFLICT skips products
+        // already on the list.
+        String sql = "INSERT INTO wishlist_item (wishlist_id, product_id) " +
+                "SELECT w.wishlist_id, p.product_id FROM unnest(?) WITH ORDINALITY AS ids (product_id, position) " +
+                "JOIN product p ON p.product_id = ids.product_id " +
+                "JOIN wishlist w ON w.wishlist_id = ? AND w.user_id = ? " +
+                "ORDER BY ids.position " +
+                "ON CONFLICT (wishlist_id, product_id) DO NOTHING";
+        Integer[] ids = new LinkedHashSet<>(productIds).toArray(new Integer[0]);
+        try {
+            numberOfRows = jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setArray(1, connection.createArrayOf("int", ids));
+                statement.setInt(2, wishlistId);
+                statement.setInt(3, userId);
+                return statement;
+            });
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return numberOfRows;
+    }
+
+    @Override
+    public int deleteProductFromWishlist(int userId, int wishlistId, int productId) {
+        int numberOfRows = 0;
+        String sql = "DELETE FROM wishlist_item wi USING wishlist w " +
+                "WHERE wi.wishlist_id = w.wishlist_id AND w.wishlist_id = ? AND w.user_id = ? AND wi.product_id = ?";
+        try {
+            numberOfRows = jdbcTemplate.update(sql, wishlistId, userId, productId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return numberOfRows;
+    }
+
+    @Override
+    @Transactional
+    public int deleteWishlist(int userId, int wishlistId) {
+        int numberOfRows = 0;
+        String deleteItemsSql = "DELETE FROM wishlist_item wi USING wishlist w " +
+                "WHERE wi.wishlist_id = w.wishlist_id AND w.wishlist_id = ? AND w.user_id = ?";
+        String deleteWishlistSql = "DELETE FROM wishlist WHERE wishlist_id = ? AND user_id = ?";
+        try {
+            jdbcTemplate.update(deleteItemsSql, wishlistId, userId);
+            numberOfRows = jdbcTemplate.update(deleteWishlistSql, wishlistId, userId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return numberOfRows;
+    }
+
+    @Override
+    public int moveWishlistToCart(int userId, int wishlistId) {
+        int numberOfRows = 0;
+        // Products already in the cart keep their quantity; the rest go in with a quantity of one
+        String insertSql = "INSERT INTO cart_item (user_id, product_id, quantity) " +
+                "SELECT w.user_id, wi.product_id, 1 FROM wishlist_item wi " +
+                "JOIN wishlist w ON w.wishlist_id = wi.wishlist_id " +
+                "WHERE w.wishlist_id = ? AND w.user_id = ? " +
+                "ON CONFLICT (user_id, product_id) DO NOTHING";
+        String deleteItemsSql = "DELETE FROM wishlist_item wi USING wishlist w " +
+                "WHERE wi.wishlist_id = w.wishlist_id AND w.wishlist_id = ? AND w.user_id = ?";
+        try {
+            // Under the user's cart lock, which also runs both statements in one transaction
+            numberOfRows = userLocks.withLock(userId, () -> {
+                jdbcTemplate.update(insertSql, wishlistId, userId);
+                return jdbcTemplate.update(deleteItemsSql, wishlistId, userId);
+            });
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return numberOfRows;
+    }
+
+    // The joined rows come ordered by wishlist, with one row per item (or a single row with null item
+    // columns for an empty wishlist).
+    private List<Wishlist> mapRowsToWishlists(ResultSet results) throws SQLException {
+        Map<Integer, Wishlist> wishlists = new LinkedHashMap<>();
+        while (results.next()) {
+            int wishlistId = results.getInt("wishlist_id");
+            Wishlist wishlist = wishlists.get(wishlistId);
+            if (wishlist == null) {
+                wishlist = new Wishlist(wishlistId, results.getInt("user_id"), results.getString("name"));
+                wishlists.put(wishlistId, wishlist);
+            }
+            int wishlistItemId = results.getInt("wishlist_item_id");
+            if (!results.wasNull()) {
+                Product product = mapRowToProduct(results);
+                wishlist.getItems().add(new WishlistItem(wishlistItemId, wishlistId, product.getProductId(), product));
+            }
+        }
+        return new ArrayList<>(wishlists.values());
+    }
+
+    private Product mapRowToProduct(ResultSet results) throws SQLException {
+        Product product = new Product();
+        product.setProductId(results.getInt("product_id"));
+        product.setProductSku(results.getString("product_sku"));
+        product.setName(results.getString("product_name"));
+        product.setDescription(results.getString("description"));
+        product.setPrice(results.getBigDecimal("price"));
+        product.setImageName(results.getString("image_name"));
+        return product;
+    }
+}
@@ -0,0 +1,95 @@
+package com.techelevator.dao;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money in whole cents. Adding amounts is exact, and so is CartPricing's price times quantity, so
+ * the only rounding in pricing a cart is the one step in {@link #taxAt(BigDecimal)}. Amounts are converted from
+ * and to BigDecimal only where they come out of the database or go into JSON.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * The cents in an amount with at most two decimal places, e.g. a price read from a numeric(8,2) column.
+     *
+     * @throws ArithmeticException if the amount has fractions of a cent or doesn't fit in a long
+     */
+    public static long centsOf(BigDecimal amount) {
+        if (amount.scale() == 2 && amount.precision() < 19) {
+            // The common case: the unscaled value already is the number of cents
+            return amount.unscaledValue().longValue();
+        }
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * The tax on this amount at the given rate, rounded up to the next cent. This is the one place pricing rounds.
+     *
+     * @param taxRate The rate as a fraction, e.g. 0.0575 for 5.75%, as TaxRateCache hands it out.
+     */
+    public Money taxAt(BigDecimal taxRate) {
+        int scale = taxRate.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length && taxRate.precision() < 19) {
+            try {
+                long product = Math.multiplyExact(cents, taxRate.unscaledValue().longValue());
+                return ofCents(-Math.floorDiv(-product, POWERS_OF_TEN[scale]));
+            } catch (ArithmeticException e) {
+                // Too large for a long, fall back to BigDecimal below
+            }
+        }
+        return ofCents(taxRate.multiply(BigDecimal.valueOf(cents)).setScale(0, RoundingMode.CEILING).longValueExact());
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return cents == ((Money) o).cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
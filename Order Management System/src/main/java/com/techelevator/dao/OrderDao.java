@@ -0,0 +1,12 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Order;
+
+public interface OrderDao {
+
+    Order getOrderByRequestId(int userId, String requestId);
+
+    // Returns the order already placed with this request id if there is one, and throws EmptyCartException if there
+    // isn't and the cart is empty
+    Order placeOrder(int userId, String requestId);
+}
@@ -8,10 +8,14 @@ public interface ProductDao {
 
     List<Product> getProducts();
 
+    List<Product> getProductsPage(String afterName, int afterProductId, int limit, boolean includeDescription);
+
     List<Product> getProductsBySku(String productSku);
 
     List<Product> getProductsByName(String name);
 
+    List<Product> searchProducts(String text);
+
     Product getProductById(int id);
 
 }
@@ -0,0 +1,27 @@
+package com.techelevator.dao;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Query helpers that map rows straight from the JDBC ResultSet into model objects.
+ *
+ * Unlike queryForRowSet, nothing here copies the result into an intermediate CachedRowSet first, and together
+ * with the JdbcTemplate fetch size (spring.jdbc.template.fetch-size) a large result is read from the database
+ * in chunks instead of all at once. For lists, use JdbcTemplate.query(sql, rowMapper, args) directly.
+ */
+public final class StreamingQueries {
+
+    private StreamingQueries() {
+    }
+
+    /**
+     * Map the first row of the result, or return null if there are no rows.
+     */
+    public static <T> T queryForFirst(JdbcOperations jdbcOperations, String sql, RowMapper<T> rowMapper,
+                                      Object... args) {
+        ResultSetExtractor<T> firstRow = rs -> rs.next() ? rowMapper.mapRow(rs, 0) : null;
+        return jdbcOperations.query(sql, firstRow, args);
+    }
+}
@@ -11,5 +11,8 @@ public interface UserDao {
 
     User getUserByUsername(String username);
 
+    // Only the id, username, password hash and authorities are filled in
+    User getUserCredentialsByUsername(String username);
+
     User createUser(User newUser);
 }
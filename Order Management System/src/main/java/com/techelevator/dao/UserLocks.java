@@ -0,0 +1,87 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.DaoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes changes to one user's data without making other users wait.
+ *
+ * Each user id maps to one of a fixed number of lock stripes, so requests for the same user (several tabs, or
+ * mobile and web at once) take turns, while requests for different users almost always take different stripes.
+ * The stripes only cover this node; with cart.advisory-locks=true the change also takes a Postgres transaction
+ * advisory lock on the user id, which serializes it against the same user's requests on every other node.
+ *
+ * The stripe is held until the transaction around the change has committed, so the next change for the user
+ * always sees this one.
+ */
+@Component
+public class UserLocks {
+
+    // First key of the two-key advisory lock, so cart locks can't collide with advisory locks taken for
+    // anything else
+    static final int CART_LOCK_NAMESPACE = 1;
+
+    private final ReentrantLock[] stripes;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean advisoryLocks;
+
+    @Autowired
+    public UserLocks(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     @Value("${cart.lock-stripes:1024}") int stripes,
+                     @Value("${cart.advisory-locks:false}") boolean advisoryLocks) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        this.advisoryLocks = advisoryLocks;
+    }
+
+    /**
+     * Stripes only, for callers that already run inside a transaction of their own.
+     */
+    public UserLocks(int stripes) {
+        this(null, null, stripes, false);
+    }
+
+    /**
+     * Run a change while holding the user's lock, in a transaction.
+     *
+     * @param userId The user whose data is changed.
+     * @param change The change to make.
+     * @return The result of the change.
+     * @throws DaoException if the transaction can't be started.
+     */
+    public <T> T withLock(int userId, Supplier<T> change) {
+        ReentrantLock stripe = stripes[Math.floorMod(userId, stripes.length)];
+        stripe.lock();
+        try {
+            if (transactionTemplate == null) {
+                return change.get();
+            }
+            return transactionTemplate.execute(status -> {
+                if (advisoryLocks) {
+                    jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", (ResultSetExtractor<Void>) rs -> null,
+                            CART_LOCK_NAMESPACE, userId);
+                }
+                return change.get();
+            });
+        } catch (CannotCreateTransactionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } finally {
+            stripe.unlock();
+        }
+    }
+}
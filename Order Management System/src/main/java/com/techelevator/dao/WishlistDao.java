@@ -0,0 +1,23 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Wishlist;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WishlistDao {
+
+    List<Wishlist> getWishlistsByUserId(int userId);
+
+    Wishlist getWishlistById(int userId, int wishlistId);
+
+    Wishlist createWishlist(int userId, Wishlist newWishlist);
+
+    int addProductsToWishlist(int userId, int wishlistId, Collection<Integer> productIds);
+
+    int deleteProductFromWishlist(int userId, int wishlistId, int productId);
+
+    int deleteWishlist(int userId, int wishlistId);
+
+    int moveWishlistToCart(int userId, int wishlistId);
+}
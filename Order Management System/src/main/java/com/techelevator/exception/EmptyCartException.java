@@ -0,0 +1,13 @@
+package com.techelevator.exception;
+
+/**
+ * Thrown when a user checks out with nothing in their cart.
+ */
+public class EmptyCartException extends RuntimeException {
+
+    private static final long serialVersionUID = 2840575629470128734L;
+
+    public EmptyCartException(String message) {
+        super(message);
+    }
+}
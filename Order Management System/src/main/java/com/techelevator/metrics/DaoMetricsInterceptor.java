@@ -0,0 +1,48 @@
+package com.techelevator.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call to a DAO method as dao.method, tagged with the DAO class, the method and the exception
+ * it threw ("none" if it returned). The timer's count doubles as the call counter, and the exception tag as the
+ * error counter.
+ */
+class DaoMetricsInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "dao.method";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    DaoMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                Timer.builder(METRIC_NAME)
+                        .tag("dao", ClassUtils.getUserClass(invocation.getThis()).getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("exception", exception)
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.techelevator.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Wires the DAO timers in.
+ *
+ * The advisor is an infrastructure bean, so the proxy creator that already applies @Transactional picks it up and
+ * every DAO bean keeps a single proxy. It matches the methods a DAO class implements from its *Dao interfaces.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String DAO_PACKAGE = "com.techelevator.dao";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor daoMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcutAdvisor advisor = new StaticMethodMatcherPointcutAdvisor() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return DAO_PACKAGE.equals(targetClass.getPackageName()) && isDaoMethod(method, targetClass);
+            }
+        };
+        advisor.setAdvice(new DaoMetricsInterceptor(meterRegistry));
+        return advisor;
+    }
+
+    static boolean isDaoMethod(Method method, Class<?> targetClass) {
+        for (Class<?> daoInterface : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            if (daoInterface.getSimpleName().endsWith("Dao")
+                    && ClassUtils.hasMethod(daoInterface, method.getName(), method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.techelevator.model;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * BulkCartUpdateDto holds the list of cart changes a client sends to apply to its cart in one request.
+ * The operations are applied in order, in a single transaction.
+ */
+public class BulkCartUpdateDto {
+
+    public static final int MAX_OPERATIONS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_OPERATIONS, message = "Too many operations in one request")
+    @Valid
+    private List<CartItemOperation> operations;
+
+    public List<CartItemOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<CartItemOperation> operations) {
+        this.operations = operations;
+    }
+}
@@ -1,9 +1,12 @@
 package com.techelevator.model;
 
+import javax.validation.constraints.Min;
+
 public class CartItem {
     private int cartItemId;
     private int userId;
     private int productId;
+    @Min(value = 1, message = "Quantity must be at least 1")
     private int quantity;
 
     public int getCartItemId() {
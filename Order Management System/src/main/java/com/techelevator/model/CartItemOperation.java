@@ -0,0 +1,68 @@
+package com.techelevator.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+
+/**
+ * CartItemOperation is one change to a user's cart sent as part of a bulk cart update.
+ *
+ * "add" increases the quantity of the product in the cart, "set" replaces it and "remove" takes the
+ * product out of the cart. An add without a quantity adds one, but an add of zero or fewer is rejected.
+ * Setting a quantity of zero is the same as removing the product.
+ */
+public class CartItemOperation {
+
+    public static final String ADD = "add";
+    public static final String SET = "set";
+    public static final String REMOVE = "remove";
+
+    @NotEmpty
+    @Pattern(regexp = "^(add|set|remove)$", message = "Operation must be add, set or remove")
+    private String operation;
+    @Min(value = 1, message = "Product id is required")
+    private int productId;
+    @Min(value = 0, message = "Quantity cannot be negative")
+    private Integer quantity;
+
+    public String getOperation() {
+        return operation;
+    }
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        if (quantity == null) {
+            return ADD.equals(operation) ? 1 : 0;
+        }
+        return quantity;
+    }
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Quantity to add must be at least 1")
+    public boolean isAddQuantityValid() {
+        return !ADD.equals(operation) || quantity == null || quantity >= 1;
+    }
+
+    public CartItemOperation() {}
+
+    public CartItemOperation(String operation, int productId, int quantity) {
+        this.operation = operation;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,55 @@
+package com.techelevator.model;
+
+import java.math.BigDecimal;
+
+public class OrderItem {
+    private int orderItemId;
+    private int productId;
+    private String productName;
+    private int quantity;
+    private BigDecimal price;
+
+    public int getOrderItemId() {
+        return orderItemId;
+    }
+    public void setOrderItemId(int orderItemId) {
+        this.orderItemId = orderItemId;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public OrderItem() {}
+
+    public OrderItem(int productId, String productName, int quantity, BigDecimal price) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.price = price;
+    }
+}
@@ -1,11 +1,14 @@
 package com.techelevator.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 
 public class Product {
     private int productId;
     private String productSku;
     private String name;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     private BigDecimal price;
     private String imageName;
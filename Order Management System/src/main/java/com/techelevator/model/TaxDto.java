@@ -1,6 +1,7 @@
 package com.techelevator.model;
 
 //   Response: {"salesTax":5.75,"lastUpdated":"Fri Jan 01 2021"}
+//   salesTax is in percent; TaxRateCache turns it into a fraction
 
 import java.math.BigDecimal;
 
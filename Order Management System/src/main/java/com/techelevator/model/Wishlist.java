@@ -0,0 +1,57 @@
+package com.techelevator.model;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Wishlist {
+
+    public static final int MAX_ITEMS = 1000;
+
+    private int wishlistId;
+    private int userId;
+    @NotBlank(message = "Name is required")
+    @Size(max = 50, message = "Name cannot be longer than 50 characters")
+    private String name;
+    @Size(max = MAX_ITEMS, message = "Too many items in one request")
+    @Valid
+    private List<WishlistItem> items = new ArrayList<>();
+
+    public int getWishlistId() {
+        return wishlistId;
+    }
+    public void setWishlistId(int wishlistId) {
+        this.wishlistId = wishlistId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<WishlistItem> getItems() {
+        return items;
+    }
+    public void setItems(List<WishlistItem> items) {
+        this.items = items != null ? items : new ArrayList<>();
+    }
+
+    public Wishlist() {}
+
+    public Wishlist(int wishlistId, int userId, String name) {
+        this.wishlistId = wishlistId;
+        this.userId = userId;
+        this.name = name;
+    }
+}
@@ -0,0 +1,52 @@
+package com.techelevator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import javax.validation.constraints.Min;
+
+public class WishlistItem {
+    private int wishlistItemId;
+    private int wishlistId;
+    @Min(value = 1, message = "Product id is required")
+    private int productId;
+    // Filled in when the wishlist is read back
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Product product;
+
+    public int getWishlistItemId() {
+        return wishlistItemId;
+    }
+    public void setWishlistItemId(int wishlistItemId) {
+        this.wishlistItemId = wishlistItemId;
+    }
+
+    public int getWishlistId() {
+        return wishlistId;
+    }
+    public void setWishlistId(int wishlistId) {
+        this.wishlistId = wishlistId;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    public WishlistItem() {}
+
+    public WishlistItem(int wishlistItemId, int wishlistId, int productId, Product product) {
+        this.wishlistItemId = wishlistItemId;
+        this.wishlistId = wishlistId;
+        this.productId = productId;
+        this.product = product;
+    }
+}
@@ -0,0 +1,260 @@
+package com.techelevator.search;
+
+import com.techelevator.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over product names and SKUs.
+ *
+ * Each name and SKU is broken into overlapping three-character grams (case-insensitive), and each gram maps to
+ * the ids of the products that contain it. A substring search intersects the posting lists of the query's grams
+ * and then checks the few remaining candidates directly, so the cost depends on the number of matches rather
+ * than the size of the catalog. Queries shorter than a gram fall back to checking every product.
+ *
+ * Products can be added and removed one at a time as the catalog changes; searches never see a partial update.
+ */
+public class ProductSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * Products by name, ignoring case, then by id: the order of ORDER BY LOWER(name) COLLATE "C", product_id, which
+     * JdbcProductDao lists products in. Names are lower-cased a character at a time, as LOWER does, and compared by
+     * code point, which is the byte order of UTF-8. Letters outside ASCII only agree where the database's LC_CTYPE
+     * lower-cases them too.
+     */
+    public static final Comparator<Product> NAME_ORDER =
+            Comparator.comparing(Product::getName, ProductSearchIndex::compareLowerCase)
+                    .thenComparingInt(Product::getProductId);
+
+    private final Map<Integer, IndexedProduct> products = new HashMap<>();
+    private final Map<String, Set<Integer>> nameGrams = new HashMap<>();
+    private final Map<String, Set<Integer>> skuGrams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void addAll(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                addProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a product to the index, replacing any product already indexed with the same id.
+     */
+    public void add(Product product) {
+        lock.writeLock().lock();
+        try {
+            addProduct(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int productId) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Products whose name contains the given text, ignoring case, ordered by name.
+     */
+    public List<Product> findByName(String text) {
+        return find(text, true);
+    }
+
+    /**
+     * Products whose SKU contains the given text, ignoring case, ordered by name.
+     */
+    public List<Product> findBySku(String text) {
+        return find(text, false);
+    }
+
+    /**
+     * Products whose name or SKU contains the given text, best matches first: an exact match, then a
+     * match at the start of the name or SKU, then at the start of a word, then anywhere.
+     */
+    public List<Product> search(String text) {
+        String query = text.toLowerCase();
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> ids = new HashSet<>(candidates(nameGrams, query));
+            ids.addAll(candidates(skuGrams, query));
+            for (int id : ids) {
+                IndexedProduct indexedProduct = products.get(id);
+                int rank = indexedProduct.rank(query);
+                if (rank > 0) {
+                    matches.add(new Match(indexedProduct.product, rank));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> match.rank).reversed()
+                .thenComparing(match -> match.product, NAME_ORDER));
+        List<Product> results = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            results.add(match.product);
+        }
+        return results;
+    }
+
+    private List<Product> find(String text, boolean byName) {
+        String query = text.toLowerCase();
+        List<Product> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int id : candidates(byName ? nameGrams : skuGrams, query)) {
+                IndexedProduct indexedProduct = products.get(id);
+                String field = byName ? indexedProduct.name : indexedProduct.sku;
+                if (field.contains(query)) {
+                    results.add(indexedProduct.product);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        results.sort(NAME_ORDER);
+        return results;
+    }
+
+    // Ids of the products that contain every gram of the query. Must hold the read lock.
+    private Collection<Integer> candidates(Map<String, Set<Integer>> grams, String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return products.keySet();
+        }
+        List<Set<Integer>> postings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Integer> posting = grams.get(gram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> ids = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !ids.isEmpty(); i++) {
+            ids.retainAll(postings.get(i));
+        }
+        return ids;
+    }
+
+    private void addProduct(Product product) {
+        removeProduct(product.getProductId());
+        IndexedProduct indexedProduct = new IndexedProduct(product);
+        products.put(product.getProductId(), indexedProduct);
+        for (String gram : grams(indexedProduct.name)) {
+            nameGrams.computeIfAbsent(gram, key -> new HashSet<>()).add(product.getProductId());
+        }
+        for (String gram : grams(indexedProduct.sku)) {
+            skuGrams.computeIfAbsent(gram, key -> new HashSet<>()).add(product.getProductId());
+        }
+    }
+
+    private void removeProduct(int productId) {
+        IndexedProduct indexedProduct = products.remove(productId);
+        if (indexedProduct != null) {
+            removePostings(nameGrams, grams(indexedProduct.name), productId);
+            removePostings(skuGrams, grams(indexedProduct.sku), productId);
+        }
+    }
+
+    private static void removePostings(Map<String, Set<Integer>> grams, Set<String> productGrams, int productId) {
+        for (String gram : productGrams) {
+            Set<Integer> posting = grams.get(gram);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static int compareLowerCase(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int codePointA = a.codePointAt(i);
+            int codePointB = b.codePointAt(j);
+            int lowerA = Character.toLowerCase(codePointA);
+            int lowerB = Character.toLowerCase(codePointB);
+            if (lowerA != lowerB) {
+                return Integer.compare(lowerA, lowerB);
+            }
+            i += Character.charCount(codePointA);
+            j += Character.charCount(codePointB);
+        }
+        return Boolean.compare(i < a.length(), j < b.length());
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class IndexedProduct {
+        private final Product product;
+        private final String name;
+        private final String sku;
+
+        IndexedProduct(Product product) {
+            this.product = product;
+            this.name = product.getName() == null ? "" : product.getName().toLowerCase();
+            this.sku = product.getProductSku() == null ? "" : product.getProductSku().toLowerCase();
+        }
+
+        int rank(String query) {
+            return Math.max(rank(name, query), rank(sku, query));
+        }
+
+        private static int rank(String field, String query) {
+            int index = field.indexOf(query);
+            if (index < 0) {
+                return 0;
+            } else if (field.length() == query.length()) {
+                return 4;
+            } else if (index == 0) {
+                return 3;
+            }
+            for (; index > 0; index = field.indexOf(query, index + 1)) {
+                if (!Character.isLetterOrDigit(field.charAt(index - 1))) {
+                    return 2;
+                }
+            }
+            return 1;
+        }
+    }
+
+    private static class Match {
+        private final Product product;
+        private final int rank;
+
+        Match(Product product, int rank) {
+            this.product = product;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.techelevator.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The Spring Security principal for a user of this application, which also carries the user's id so that
+ * controllers don't have to look the user up by name to get it.
+ */
+public class AuthenticatedUser extends User {
+
+    // Zero when the id isn't known, e.g. for a token minted before the id was added to it
+    private final int userId;
+
+    public AuthenticatedUser(int userId, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+}
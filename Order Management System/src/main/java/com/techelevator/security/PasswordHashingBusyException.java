@@ -0,0 +1,20 @@
+package com.techelevator.security;
+
+/**
+ * Thrown when the password hashing executor is already running and queueing as many hashes as it allows.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 6493514733310583712L;
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
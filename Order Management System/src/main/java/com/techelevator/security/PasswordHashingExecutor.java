@@ -0,0 +1,140 @@
+package com.techelevator.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt password hashing and verification on a small, bounded pool of threads.
+ *
+ * BCrypt is deliberately slow, so a wave of logins running on request threads can occupy every one of them and
+ * stall unrelated requests. Here at most one hash per core runs at a time, a bounded number wait in a queue, and
+ * any more are turned away straight away with a PasswordHashingBusyException. Only the hashing itself belongs here,
+ * not the database work around it, which is why PooledPasswordEncoder is the one caller.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean, MeterBinder {
+
+    public static final String METRIC_NAME = "password.hashing";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    // Set once the executor is bound to a registry; hashes before that aren't timed
+    private volatile Timer hashTimer;
+
+    public PasswordHashingExecutor(
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.retry-after-in-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new PasswordHashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Run a task that hashes or verifies a password and wait for its result.
+     *
+     * @param task The task to run.
+     * @return The result of the task.
+     * @throws PasswordHashingBusyException if the pool and its queue are both full.
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            LOG.warn("Password hashing queue is full ({} waiting), rejecting request", getQueueDepth());
+            throw new PasswordHashingBusyException("Too many logins in progress, try again shortly",
+                    retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        Timer timer = hashTimer;
+        return timer == null ? task.call() : timer.recordCallable(task);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("password.hashing.queue.depth", this, PasswordHashingExecutor::getQueueDepth)
+                .description("Password hashes waiting for a thread").register(registry);
+        Gauge.builder("password.hashing.active", this, PasswordHashingExecutor::getActiveCount)
+                .description("Password hashes running").register(registry);
+        hashTimer = Timer.builder(METRIC_NAME)
+                .description("Time to hash or verify one password, not counting the wait for a thread")
+                .publishPercentileHistogram()
+                .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", this, PasswordHashingExecutor::getRejectedCount)
+                .description("Logins and registrations turned away with 503").register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static class PasswordHashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.techelevator.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * The application's PasswordEncoder: BCrypt, run on the PasswordHashingExecutor.
+ *
+ * Only the encode and match themselves go to the pool. Loading the user before a login and inserting one after
+ * registering stay on the request thread, so the pool's threads are never held waiting on the database.
+ *
+ * @throws PasswordHashingBusyException from encode and matches when the pool and its queue are both full.
+ */
+@Component
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+    private final PasswordHashingExecutor executor;
+
+    public PooledPasswordEncoder(PasswordHashingExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bcrypt.upgradeEncoding(encodedPassword);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.security.Principal;
 import java.util.Optional;
 
 public class SecurityUtils {
@@ -41,4 +42,21 @@ public class SecurityUtils {
 
         return Optional.ofNullable(username);
     }
+
+    /**
+     * Get the user id carried by an authenticated principal.
+     *
+     * @param principal the principal of the current request.
+     * @return the user id, or empty if the principal doesn't carry one.
+     */
+    public static Optional<Integer> getUserId(Principal principal) {
+        if (principal instanceof Authentication
+                && ((Authentication) principal).getPrincipal() instanceof AuthenticatedUser) {
+            int userId = ((AuthenticatedUser) ((Authentication) principal).getPrincipal()).getUserId();
+            if (userId > 0) {
+                return Optional.of(userId);
+            }
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,31 @@
+package com.techelevator.security;
+
+import com.techelevator.dao.UserDao;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Finds the user id of the current request's principal, for controllers that scope their data to the user.
+ */
+@Component
+public class UserIdResolver {
+
+    private final UserDao userDao;
+
+    public UserIdResolver(UserDao userDao) {
+        this.userDao = userDao;
+    }
+
+    /**
+     * Get the user id of an authenticated principal.
+     *
+     * @param principal the principal of the current request.
+     * @return the user id.
+     */
+    public int getUserId(Principal principal) {
+        // Tokens minted before the user id was added to them only carry the username
+        return SecurityUtils.getUserId(principal)
+                .orElseGet(() -> userDao.getUserCredentialsByUsername(principal.getName()).getId());
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -32,10 +33,15 @@ public class UserModelDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(final String login) {
         log.debug("Authenticating user '{}'", login);
-        return createSpringSecurityUser(login, userDao.getUserByUsername(login));
+        User user = userDao.getUserCredentialsByUsername(login);
+        if (user == null) {
+            throw new UsernameNotFoundException("User " + login + " was not found");
+        }
+        return createSpringSecurityUser(login, user);
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String login, User user) {
+    // Always a new instance: Spring Security erases the password from the UserDetails once a login succeeds
+    private AuthenticatedUser createSpringSecurityUser(String login, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + login + " was not activated");
         }
@@ -46,7 +52,8 @@ public class UserModelDetailsService implements UserDetailsService {
             grantedAuthorities.add(new SimpleGrantedAuthority(authority.getName()));
         }
 
-        return new org.springframework.security.core.userdetails.User(user.getUsername(),
+        return new AuthenticatedUser(user.getId(),
+                user.getUsername(),
                 user.getPassword(),
                 grantedAuthorities);
     }
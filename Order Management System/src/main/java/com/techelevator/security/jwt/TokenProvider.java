@@ -1,5 +1,6 @@
 package com.techelevator.security.jwt;
 
+import com.techelevator.security.AuthenticatedUser;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,7 +12,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -24,27 +24,32 @@ public class TokenProvider implements InitializingBean {
     private final Logger log = LoggerFactory.getLogger(TokenProvider.class);
 
     private static final String AUTHORITIES_KEY = "auth";
+    private static final String USER_ID_KEY = "uid";
 
     private final String base64Secret;
     private final long tokenValidityInMilliseconds;
     private final long tokenValidityInMillisecondsForRememberMe;
 
     private Key key;
-
+    private JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokens;
 
     public TokenProvider(
             @Value("${jwt.base64-secret}") String base64Secret,
             @Value("${jwt.token-validity-in-seconds}") long tokenValidityInSeconds,
-            @Value("${jwt.token-validity-in-seconds-for-remember-me}") long tokenValidityInSecondsForRememberMe) {
+            @Value("${jwt.token-validity-in-seconds-for-remember-me}") long tokenValidityInSecondsForRememberMe,
+            @Value("${jwt.verified-token-cache-size:10000}") int verifiedTokenCacheSize) {
         this.base64Secret = base64Secret;
         this.tokenValidityInMilliseconds = tokenValidityInSeconds * 1000;
         this.tokenValidityInMillisecondsForRememberMe = tokenValidityInSecondsForRememberMe * 1000;
+        this.verifiedTokens = new VerifiedTokenCache(verifiedTokenCacheSize);
     }
 
     @Override
     public void afterPropertiesSet() {
         byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -64,35 +69,67 @@ public class TokenProvider implements InitializingBean {
             validity = new Date(now + this.tokenValidityInMilliseconds);
         }
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(authentication.getName())
-                .claim(AUTHORITIES_KEY, authorities)
+                .claim(AUTHORITIES_KEY, authorities);
+        if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+            builder.claim(USER_ID_KEY, ((AuthenticatedUser) authentication.getPrincipal()).getUserId());
+        }
+
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512)
                 .setExpiration(validity)
                 .compact();
     }
 
+    /**
+     * Validate a token and build the authentication it carries, verifying each distinct token only once.
+     *
+     * @param token The compact JWT.
+     * @return The authentication for the token, or null if the token is not valid.
+     */
+    public Authentication authenticate(String token) {
+        long now = System.currentTimeMillis();
+        Authentication authentication = verifiedTokens.get(token, now);
+        if (authentication != null) {
+            return authentication;
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        authentication = toAuthentication(claims, token);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, authentication, claims.getExpiration().getTime());
+        }
+        return authentication;
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return toAuthentication(jwtParser.parseClaimsJws(token).getBody(), token);
+    }
 
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private Authentication toAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities =
                 Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        Integer userId = claims.get(USER_ID_KEY, Integer.class);
+        AuthenticatedUser principal =
+                new AuthenticatedUser(userId == null ? 0 : userId, claims.getSubject(), "", authorities);
 
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -106,6 +143,6 @@ public class TokenProvider implements InitializingBean {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return null;
     }
 }
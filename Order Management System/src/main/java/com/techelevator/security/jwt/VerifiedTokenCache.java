@@ -0,0 +1,135 @@
+package com.techelevator.security.jwt;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of tokens whose signature has already been verified, so a client that sends
+ * the same token on every request only pays for parsing and verifying it once.
+ *
+ * Entries are keyed by a SHA-256 digest of the token rather than the token itself, and are never returned after
+ * the token's own expiration time. The cache is split into stripes by key, each with its own lock and its own
+ * share of the size limit, so concurrent requests with different tokens rarely wait for each other. Every hit
+ * gets a new Authentication, so nothing a request does to its Authentication is seen by the next one.
+ */
+class VerifiedTokenCache {
+
+    private static final int MAX_STRIPES = 64;
+    // Below this many entries per stripe a cache isn't worth splitting
+    private static final int MIN_STRIPE_SIZE = 64;
+
+    private final int maxSize;
+    private final Stripe[] stripes;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        int stripeCount = Math.max(1, Math.min(MAX_STRIPES, maxSize / MIN_STRIPE_SIZE));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // The stripes' shares add up to exactly maxSize
+            stripes[i] = new Stripe(maxSize / stripeCount + (i < maxSize % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Get the authentication for a previously verified token.
+     *
+     * @param token The compact JWT.
+     * @param now The current time in milliseconds.
+     * @return A new authentication for the token, or null if the token is not cached or has expired.
+     */
+    Authentication get(String token, long now) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        Stripe stripe = stripeFor(key);
+        VerifiedToken verifiedToken;
+        synchronized (stripe) {
+            verifiedToken = stripe.get(key);
+            if (verifiedToken == null) {
+                return null;
+            }
+            if (verifiedToken.expiresAt <= now) {
+                stripe.remove(key);
+                return null;
+            }
+        }
+        return new UsernamePasswordAuthenticationToken(verifiedToken.principal, token, verifiedToken.authorities);
+    }
+
+    void put(String token, Authentication authentication, long expiresAt) {
+        if (maxSize <= 0) {
+            return;
+        }
+        String key = digest(token);
+        VerifiedToken verifiedToken = new VerifiedToken(authentication.getPrincipal(),
+                List.copyOf(authentication.getAuthorities()), expiresAt);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.put(key, verifiedToken);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // One stripe's entries in access order, so the least recently used one is evicted first
+    private static class Stripe extends LinkedHashMap<String, VerifiedToken> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        Stripe(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static class VerifiedToken {
+        private final Object principal;
+        private final List<GrantedAuthority> authorities;
+        private final long expiresAt;
+
+        VerifiedToken(Object principal, List<GrantedAuthority> authorities, long expiresAt) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
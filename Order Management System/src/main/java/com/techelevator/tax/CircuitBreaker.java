@@ -0,0 +1,52 @@
+package com.techelevator.tax;
+
+/**
+ * A minimal circuit breaker.
+ *
+ * After a run of consecutive failures the circuit opens and calls are refused without being attempted. Once the
+ * open interval has passed a single trial call is let through: if it succeeds the circuit closes again, if it
+ * fails the circuit stays open for another interval.
+ */
+class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openIntervalMillis;
+
+    private int consecutiveFailures;
+    private long openedAt = -1;
+    private boolean trialInProgress;
+
+    CircuitBreaker(int failureThreshold, long openIntervalMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openIntervalMillis = openIntervalMillis;
+    }
+
+    synchronized boolean allowRequest(long now) {
+        if (openedAt < 0) {
+            return true;
+        }
+        if (!trialInProgress && now - openedAt >= openIntervalMillis) {
+            trialInProgress = true;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        openedAt = -1;
+        trialInProgress = false;
+    }
+
+    synchronized void recordFailure(long now) {
+        consecutiveFailures++;
+        if (trialInProgress || consecutiveFailures >= failureThreshold) {
+            openedAt = now;
+        }
+        trialInProgress = false;
+    }
+
+    synchronized boolean isOpen() {
+        return openedAt >= 0;
+    }
+}
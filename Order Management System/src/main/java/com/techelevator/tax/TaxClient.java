@@ -0,0 +1,172 @@
+package com.techelevator.tax;
+
+import com.techelevator.model.TaxDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP client for the sales tax service.
+ *
+ * Connections are pooled and kept alive between calls, every call is bounded by the connect, pool and read
+ * timeouts, and a circuit breaker stops calling the service for a while after repeated failures so that callers
+ * fall back at once instead of each waiting out the timeout. The async variant runs on a small bounded pool, so a
+ * caller can overlap the lookup with its own work.
+ */
+@Component
+public class TaxClient implements DisposableBean, MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaxClient.class);
+
+    private final String taxUrl;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor executor;
+    private volatile MeterRegistry meterRegistry;
+
+    public TaxClient(
+            RestTemplateBuilder restTemplateBuilder,
+            @Value("${tax.url}") String taxUrl,
+            @Value("${tax.timeout-in-millis:2000}") int timeoutInMillis,
+            @Value("${tax.max-connections:20}") int maxConnections,
+            @Value("${tax.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${tax.circuit-breaker.open-interval-in-millis:30000}") long openIntervalInMillis,
+            @Value("${tax.async-threads:4}") int asyncThreads) {
+        this.taxUrl = taxUrl;
+
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        // Every call goes to the same host
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(timeoutInMillis)
+                .setConnectionRequestTimeout(timeoutInMillis)
+                .setSocketTimeout(timeoutInMillis)
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .disableAutomaticRetries()
+                .build();
+        this.restTemplate = restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openIntervalInMillis);
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.executor = new ThreadPoolExecutor(asyncThreads, asyncThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), runnable -> {
+                    Thread thread = new Thread(runnable, "tax-client-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Get the sales tax for a state from the tax service.
+     *
+     * @param stateCode The two-letter state code.
+     * @return The response of the tax service.
+     * @throws TaxServiceException if the call fails or the circuit is open.
+     */
+    public TaxDto getSalesTax(String stateCode) {
+        if (!circuitBreaker.allowRequest(System.currentTimeMillis())) {
+            throw new TaxServiceException("Tax service circuit is open, not calling it");
+        }
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            TaxDto taxDto = restTemplate.getForObject(taxUrl + stateCode, TaxDto.class);
+            circuitBreaker.recordSuccess();
+            return taxDto;
+        } catch (HttpClientErrorException e) {
+            // The service answered; it just didn't like the request
+            circuitBreaker.recordSuccess();
+            outcome = "rejected";
+            throw new TaxServiceException("Tax service rejected state '" + stateCode + "': " + e.getStatusCode(), e);
+        } catch (RestClientException e) {
+            outcome = "failed";
+            circuitBreaker.recordFailure(System.currentTimeMillis());
+            if (circuitBreaker.isOpen()) {
+                LOG.warn("Tax service circuit is open after call for '{}' failed: {}", stateCode, e.getMessage());
+            }
+            throw new TaxServiceException("Unable to get sales tax for '" + stateCode + "'", e);
+        } catch (RuntimeException e) {
+            // Anything else still has to end a trial call, or the circuit would never let another one through
+            outcome = "failed";
+            circuitBreaker.recordFailure(System.currentTimeMillis());
+            throw e;
+        } finally {
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                Timer.builder("tax.requests").tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Get the sales tax for a state without blocking the calling thread.
+     *
+     * @param stateCode The two-letter state code.
+     * @return A future for the response, completed exceptionally with a TaxServiceException if the call fails.
+     */
+    public CompletableFuture<TaxDto> getSalesTaxAsync(String stateCode) {
+        try {
+            return CompletableFuture.supplyAsync(() -> getSalesTax(stateCode), executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<TaxDto> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new TaxServiceException("Too many tax lookups in progress", e));
+            return rejected;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tax.connections.leased", connectionManager, manager -> manager.getTotalStats().getLeased())
+                .register(registry);
+        Gauge.builder("tax.connections.pending", connectionManager, manager -> manager.getTotalStats().getPending())
+                .description("Tax calls waiting for a pooled connection").register(registry);
+        Gauge.builder("tax.async.queue.depth", executor, pool -> pool.getQueue().size()).register(registry);
+        Gauge.builder("tax.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0).register(registry);
+        this.meterRegistry = registry;
+    }
+
+    boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        executor.shutdownNow();
+        httpClient.close();
+    }
+}
@@ -0,0 +1,245 @@
+package com.techelevator.tax;
+
+import com.techelevator.model.TaxDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Per-state sales tax rates, kept in memory so that pricing a cart never waits on the tax service.
+ *
+ * Every known state is fetched when the application starts and re-fetched in the background on a fixed
+ * schedule, one state at a time on a thread of its own. A rate older than the maximum staleness is re-fetched
+ * when it is asked for (at most once per retry interval), and concurrent requests for the same state share that
+ * one fetch. No lookup waits longer than the tax timeout: if the tax service is slow or down the last known rate
+ * is served instead. States the tax service has never answered for fall back to the local rate table, which is
+ * also the only source of rates when running offline.
+ *
+ * The tax service and the local rate table give rates in percent (5.75 for 5.75%). This is the one place they
+ * are converted: every rate handed out is a fraction of the price (0.0575), ready to multiply a subtotal by.
+ */
+@Component
+public class TaxRateCache implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaxRateCache.class);
+
+    static final String[] STATE_CODES = {"AL", "AK", "AR", "AZ", "CA", "CO", "CT", "DC", "DE", "FL", "GA", "HI",
+            "IA", "ID", "IL", "IN", "KS", "KY", "LA", "MA", "MD", "ME", "MI", "MN", "MO", "MS", "MT", "NC", "ND", "NE",
+            "NH", "NJ", "NM", "NV", "NY", "OH", "OK", "OR", "PA", "RI", "SC", "SD", "TN", "TX", "UT", "VA", "VT", "WA",
+            "WI", "WV", "WY"};
+
+    private final TaxClient taxClient;
+    private final boolean offline;
+    private final long timeoutMillis;
+    private final long maxStalenessMillis;
+    private final long retryIntervalMillis;
+    private final Map<String, BigDecimal> localRates;
+
+    private final Map<String, CachedRate> rates = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastFailures = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedRate>> fetchesInProgress = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tax-rate-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TaxRateCache(
+            TaxClient taxClient,
+            @Value("${tax.offline:false}") boolean offline,
+            @Value("${tax.timeout-in-millis:2000}") long timeoutInMillis,
+            @Value("${tax.max-staleness-in-seconds:86400}") long maxStalenessInSeconds,
+            @Value("${tax.retry-interval-in-millis:60000}") long retryIntervalInMillis,
+            @Value("${tax.local-rates:}") String localRates) {
+        this.taxClient = taxClient;
+        this.offline = offline;
+        this.timeoutMillis = timeoutInMillis;
+        this.maxStalenessMillis = maxStalenessInSeconds * 1000;
+        this.retryIntervalMillis = retryIntervalInMillis;
+        this.localRates = parseRates(localRates);
+    }
+
+    /**
+     * Get the sales tax rate for a state, as reported by the tax service.
+     *
+     * @param stateCode The two-letter state code.
+     * @return The last known rate for the state as a fraction, e.g. 0.0575, or zero if no rate has ever been known.
+     */
+    public BigDecimal getSalesTaxRate(String stateCode) {
+        return getSalesTaxRateAsync(stateCode).join();
+    }
+
+    /**
+     * Get the sales tax rate for a state without blocking the calling thread.
+     *
+     * @param stateCode The two-letter state code.
+     * @return A future for the rate, as getSalesTaxRate would return it. It never completes exceptionally, and
+     *         completes with the fallback rate if the tax service takes longer than the tax timeout.
+     */
+    public CompletableFuture<BigDecimal> getSalesTaxRateAsync(String stateCode) {
+        String key = toKey(stateCode);
+        if (offline) {
+            return CompletableFuture.completedFuture(localRates.getOrDefault(key, BigDecimal.ZERO));
+        }
+
+        CachedRate cachedRate = rates.get(key);
+        if (cachedRate != null && !cachedRate.isOlderThan(maxStalenessMillis)) {
+            return CompletableFuture.completedFuture(cachedRate.getRate());
+        }
+        if (!mayFetch(key)) {
+            return CompletableFuture.completedFuture(fallbackRate(key));
+        }
+        // Time out a copy, so a late answer is still cached for the next caller
+        return fetch(key, taxClient::getSalesTaxAsync).copy()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((fetchedRate, e) -> fetchedRate != null ? fetchedRate.getRate() : fallbackRate(key));
+    }
+
+    /**
+     * Re-fetch the rate for every known state. Runs once at startup and then on a fixed delay.
+     *
+     * The fetches run one after another on the refresh thread, so this returns at once and a slow tax service
+     * holds up neither the scheduler nor the lookups made by requests.
+     */
+    @Scheduled(initialDelayString = "${tax.initial-refresh-delay-in-millis:0}",
+            fixedDelayString = "${tax.refresh-interval-in-millis:3600000}")
+    public void refresh() {
+        if (offline) {
+            return;
+        }
+        CompletableFuture<?>[] fetches = new CompletableFuture<?>[STATE_CODES.length];
+        for (int i = 0; i < STATE_CODES.length; i++) {
+            fetches[i] = fetch(STATE_CODES[i], this::getSalesTaxOnRefreshThread);
+        }
+        CompletableFuture.allOf(fetches).thenRun(() -> {
+            int failures = 0;
+            for (CompletableFuture<?> fetch : fetches) {
+                if (fetch.join() == null) {
+                    failures++;
+                }
+            }
+            LOG.debug("Refreshed sales tax rates, {} of {} states failed", failures, STATE_CODES.length);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static String toKey(String stateCode) {
+        return stateCode == null ? "" : stateCode.trim().toUpperCase();
+    }
+
+    // Don't let every request wait on a tax service that just failed for this state
+    private boolean mayFetch(String stateCode) {
+        Long lastFailure = lastFailures.get(stateCode);
+        return lastFailure == null || System.currentTimeMillis() - lastFailure > retryIntervalMillis;
+    }
+
+    private BigDecimal fallbackRate(String stateCode) {
+        CachedRate cachedRate = rates.get(stateCode);
+        if (cachedRate != null) {
+            LOG.warn("Serving sales tax rate for '{}' last updated {}", stateCode, cachedRate.getLastUpdated());
+            return cachedRate.getRate();
+        }
+        return localRates.getOrDefault(stateCode, BigDecimal.ZERO);
+    }
+
+    private CompletableFuture<TaxDto> getSalesTaxOnRefreshThread(String stateCode) {
+        return CompletableFuture.supplyAsync(() -> taxClient.getSalesTax(stateCode), refreshExecutor);
+    }
+
+    // Fetch the rate for a state through the given call, unless a fetch for it is already in progress, in which
+    // case that one is shared. The future completes with the stored rate, or null if the fetch failed.
+    private CompletableFuture<CachedRate> fetch(String stateCode, Function<String, CompletableFuture<TaxDto>> call) {
+        CompletableFuture<CachedRate> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedRate> inProgress = fetchesInProgress.putIfAbsent(stateCode, fetch);
+        if (inProgress != null) {
+            return inProgress;
+        }
+        CompletableFuture<TaxDto> response;
+        try {
+            response = call.apply(stateCode);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((taxDto, e) -> {
+            CachedRate fetchedRate = null;
+            if (e != null) {
+                LOG.debug("Unable to fetch sales tax rate for '{}': {}", stateCode, e.getMessage());
+                lastFailures.put(stateCode, System.currentTimeMillis());
+            } else {
+                fetchedRate = store(stateCode, taxDto);
+            }
+            // Stored before it is removed, so a caller that misses this fetch finds the new rate instead
+            fetchesInProgress.remove(stateCode, fetch);
+            fetch.complete(fetchedRate);
+        });
+        return fetch;
+    }
+
+    private CachedRate store(String stateCode, TaxDto taxDto) {
+        if (taxDto == null || taxDto.getSalesTax() == null) {
+            lastFailures.put(stateCode, System.currentTimeMillis());
+            return null;
+        }
+        CachedRate cachedRate = new CachedRate(percentToFraction(taxDto.getSalesTax()), taxDto.getLastUpdated());
+        rates.put(stateCode, cachedRate);
+        lastFailures.remove(stateCode);
+        return cachedRate;
+    }
+
+    /**
+     * Parse "OH:5.75,CA:7.25", rates in percent, into fractions by state.
+     */
+    static Map<String, BigDecimal> parseRates(String rates) {
+        Map<String, BigDecimal> parsed = new ConcurrentHashMap<>();
+        for (String entry : rates.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length == 2) {
+                parsed.put(parts[0].trim().toUpperCase(), percentToFraction(new BigDecimal(parts[1].trim())));
+            }
+        }
+        return parsed;
+    }
+
+    static BigDecimal percentToFraction(BigDecimal percent) {
+        return percent.movePointLeft(2);
+    }
+
+    private static class CachedRate {
+        private final BigDecimal rate;
+        private final String lastUpdated;
+        private final long fetchedAt = System.currentTimeMillis();
+
+        CachedRate(BigDecimal rate, String lastUpdated) {
+            this.rate = rate;
+            this.lastUpdated = lastUpdated;
+        }
+
+        BigDecimal getRate() {
+            return rate;
+        }
+
+        String getLastUpdated() {
+            return lastUpdated;
+        }
+
+        boolean isOlderThan(long millis) {
+            return System.currentTimeMillis() - fetchedAt > millis;
+        }
+    }
+}
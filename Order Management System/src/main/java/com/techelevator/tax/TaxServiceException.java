@@ -0,0 +1,15 @@
+package com.techelevator.tax;
+
+/**
+ * Thrown when the tax service can't be reached, fails, or is not being called because its circuit is open.
+ */
+public class TaxServiceException extends RuntimeException {
+
+    public TaxServiceException(String message) {
+        super(message);
+    }
+
+    public TaxServiceException(String message, Exception cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,109 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Product;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CachingProductDaoTests extends BaseDaoTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private CachingProductDao dao;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dao = new CachingProductDao(new JdbcProductDao(jdbcTemplate));
+    }
+
+    @Test
+    public void getProducts_returns_all_products_ordered_by_name() {
+        List<Product> products = dao.getProducts();
+
+        Assert.assertEquals(7, products.size());
+        Assert.assertEquals("Product 1", products.get(0).getName());
+        Assert.assertEquals("Product name 7", products.get(6).getName());
+    }
+
+    @Test
+    public void lookups_use_the_snapshot_indexes() {
+        Assert.assertEquals("SKU-003", dao.getProductById(3).getProductSku());
+        Assert.assertNull(dao.getProductById(99));
+        Assert.assertEquals(4, dao.getProductBySku("sku-004").getProductId());
+        Assert.assertEquals(5, dao.getProductsByName("NAME").size());
+        Assert.assertEquals(1, dao.getProductsBySku("-006").size());
+    }
+
+    @Test
+    public void refresh_picks_up_changed_products() {
+        Assert.assertEquals("Product 1", dao.getProductById(1).getName());
+
+        jdbcTemplate.update("UPDATE product SET name = 'Renamed product' WHERE product_id = 1");
+        Assert.assertEquals("Snapshot should not change before a refresh",
+                "Product 1", dao.getProductById(1).getName());
+        Assert.assertTrue("Search should not change before a refresh", dao.getProductsByName("renamed").isEmpty());
+
+        dao.refresh();
+        Assert.assertEquals("Renamed product", dao.getProductById(1).getName());
+        Assert.assertEquals("Renamed product", dao.getProducts().get(6).getName());
+        Assert.assertEquals(1, dao.getProductsByName("renamed").size());
+        Assert.assertEquals(6, dao.getProductsByName("product ").size());
+    }
+
+    @Test
+    public void getProductsPage_continues_after_the_cursor() {
+        List<Product> firstPage = dao.getProductsPage(null, 0, 4, false);
+        Assert.assertEquals(4, firstPage.size());
+        Assert.assertNull(firstPage.get(0).getDescription());
+        Assert.assertNotNull("Projection must not change the cached product",
+                dao.getProductById(firstPage.get(0).getProductId()).getDescription());
+
+        Product last = firstPage.get(3);
+        List<Product> secondPage = dao.getProductsPage(last.getName(), last.getProductId(), 4, true);
+        Assert.assertEquals(3, secondPage.size());
+        Assert.assertEquals("Product name 5", secondPage.get(0).getName());
+    }
+
+    @Test
+    public void getProductsPage_walks_the_same_pages_as_JdbcProductDao() {
+        JdbcProductDao jdbcProductDao = new JdbcProductDao(jdbcTemplate);
+        String[] names = {"apple", "Apple", "APPLE pie", "apple-pie", "apple pie", "Zed", "zed", "_under", "[b]",
+                "Product 1", "product 1", "~tilde"};
+        for (int i = 0; i < names.length; i++) {
+            jdbcTemplate.update("INSERT INTO product (product_sku, name, price) VALUES (?, ?, 1.00)",
+                    "PAGE-" + i, names[i]);
+        }
+
+        List<Integer> walked = new ArrayList<>();
+        String afterName = null;
+        int afterProductId = 0;
+        while (true) {
+            List<Product> page = jdbcProductDao.getProductsPage(afterName, afterProductId, 2, false);
+            Assert.assertEquals("Page after " + afterName, productIds(page),
+                    productIds(dao.getProductsPage(afterName, afterProductId, 2, false)));
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.addAll(productIds(page));
+            Product last = page.get(page.size() - 1);
+            afterName = last.getName();
+            afterProductId = last.getProductId();
+        }
+
+        Assert.assertEquals(7 + names.length, walked.size());
+        Assert.assertEquals(productIds(jdbcProductDao.getProducts()), walked);
+        Assert.assertEquals(productIds(dao.getProducts()), walked);
+    }
+
+    private List<Integer> productIds(List<Product> products) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : products) {
+            ids.add(product.getProductId());
+        }
+        return ids;
+    }
+}
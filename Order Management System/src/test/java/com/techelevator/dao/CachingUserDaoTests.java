@@ -0,0 +1,50 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class CachingUserDaoTests extends BaseDaoTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcUserDao jdbcUserDao;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcUserDao = new JdbcUserDao(jdbcTemplate, new BCryptPasswordEncoder());
+    }
+
+    @Test
+    public void credentials_are_served_from_cache_until_evicted() {
+        CachingUserDao dao = new CachingUserDao(jdbcUserDao, 300, 10);
+        String passwordHash = dao.getUserCredentialsByUsername("user1").getPassword();
+
+        jdbcTemplate.update("UPDATE users SET password_hash = 'changed' WHERE username = 'user1'");
+        Assert.assertEquals(passwordHash, dao.getUserCredentialsByUsername("USER1").getPassword());
+
+        dao.evict("user1");
+        Assert.assertEquals("changed", dao.getUserCredentialsByUsername("user1").getPassword());
+    }
+
+    @Test
+    public void createUser_evicts_cached_credentials() {
+        CachingUserDao dao = new CachingUserDao(jdbcUserDao, 300, 10);
+        Assert.assertNull(dao.getUserCredentialsByUsername("new"));
+
+        User created = dao.createUser(new User("new", "user", "ROLE_USER", "new user", "address", "city", "ST", "ZIP"));
+        Assert.assertEquals(created.getId(), dao.getUserCredentialsByUsername("new").getId());
+    }
+
+    @Test
+    public void zero_time_to_live_disables_cache() {
+        CachingUserDao dao = new CachingUserDao(jdbcUserDao, 0, 10);
+        dao.getUserCredentialsByUsername("user1");
+
+        jdbcTemplate.update("UPDATE users SET password_hash = 'changed' WHERE username = 'user1'");
+        Assert.assertEquals("changed", dao.getUserCredentialsByUsername("user1").getPassword());
+    }
+}
@@ -0,0 +1,92 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Cart;
+import com.techelevator.model.CartItemDetails;
+import com.techelevator.tax.StubTaxServer;
+import com.techelevator.tax.TaxClient;
+import com.techelevator.tax.TaxRateCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+public class JdbcCartDaoTests extends BaseDaoTests {
+
+    private StubTaxServer stub;
+    private TaxClient taxClient;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcCartDao dao;
+
+    @Before
+    public void setup() throws IOException {
+        stub = new StubTaxServer(0);
+        stub.setRate("OH", "5.75");
+        taxClient = new TaxClient(new RestTemplateBuilder(), stub.getUrl(), 2000, 4, 2, 60000, 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dao = new JdbcCartDao(jdbcTemplate, new TaxRateCache(taxClient, false, 2000, 60, 1000, ""));
+    }
+
+    @After
+    public void shutdown() throws IOException {
+        taxClient.destroy();
+        stub.close();
+    }
+
+    @Test
+    public void getCartByUserId_empty_cart_has_zero_totals_without_tax_lookup() {
+        Cart cart = dao.getCartByUserId(1);
+
+        Assert.assertTrue(cart.getItemsInCart().isEmpty());
+        assertZero(cart.getSubtotal());
+        assertZero(cart.getTaxAmount());
+        assertZero(cart.getCartTotal());
+        Assert.assertEquals(0, stub.getRequestCount());
+    }
+
+    @Test
+    public void getCartByUserId_prices_every_line_at_the_users_tax_rate() {
+        addToCart(1, 2, 2);
+        addToCart(1, 5, 1);
+
+        Cart cart = dao.getCartByUserId(1);
+
+        Assert.assertEquals(2, cart.getItemsInCart().size());
+        Set<String> names = new HashSet<>();
+        for (CartItemDetails item : cart.getItemsInCart()) {
+            names.add(item.getProductName());
+        }
+        Assert.assertEquals(Set.of("Product 2", "Product name 5"), names);
+        // 2 x 21.99 + 5.79 = 49.77, and 5.75% of it is 2.861775, rounded up
+        Assert.assertEquals(new BigDecimal("49.77"), cart.getSubtotal());
+        Assert.assertEquals(new BigDecimal("2.87"), cart.getTaxAmount());
+        Assert.assertEquals(new BigDecimal("52.64"), cart.getCartTotal());
+        Assert.assertEquals(1, stub.getRequestCount());
+    }
+
+    @Test
+    public void getCartByUserId_unknown_user_gets_an_empty_cart() {
+        Cart cart = dao.getCartByUserId(99);
+
+        Assert.assertTrue(cart.getItemsInCart().isEmpty());
+        assertZero(cart.getSubtotal());
+        assertZero(cart.getTaxAmount());
+        assertZero(cart.getCartTotal());
+        Assert.assertEquals(0, stub.getRequestCount());
+    }
+
+    private void addToCart(int userId, int productId, int quantity) {
+        jdbcTemplate.update("INSERT INTO cart_item (user_id, product_id, quantity) VALUES (?, ?, ?)",
+                userId, productId, quantity);
+    }
+
+    private void assertZero(BigDecimal amount) {
+        Assert.assertEquals(0, amount.compareTo(BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,97 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.DaoException;
+import com.techelevator.model.CartItem;
+import com.techelevator.model.CartItemOperation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.List;
+
+public class JdbcCartItemDaoTests extends BaseDaoTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcCartItemDao dao;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dao = new JdbcCartItemDao(jdbcTemplate, new UserLocks(16));
+    }
+
+    @Test
+    public void putItemInCart_adds_new_item() {
+        CartItem cartItem = dao.putItemInCart(1, new CartItem(0, 0, 2, 3));
+
+        Assert.assertNotNull("putItemInCart should return the cart item", cartItem);
+        Assert.assertTrue(cartItem.getCartItemId() > 0);
+        Assert.assertEquals(1, cartItem.getUserId());
+        Assert.assertEquals(2, cartItem.getProductId());
+        Assert.assertEquals(3, cartItem.getQuantity());
+    }
+
+    @Test
+    public void putItemInCart_existing_item_increases_quantity() {
+        CartItem first = dao.putItemInCart(1, new CartItem(0, 0, 2, 3));
+        CartItem second = dao.putItemInCart(1, new CartItem(0, 0, 2, 2));
+
+        Assert.assertEquals("Adding the same product should update the same row",
+                first.getCartItemId(), second.getCartItemId());
+        Assert.assertEquals(5, second.getQuantity());
+        Assert.assertEquals(5, dao.getCartItemByCartItemId(first.getCartItemId()).getQuantity());
+    }
+
+    @Test(expected = DaoException.class)
+    public void putItemInCart_with_invalid_product_throws() {
+        dao.putItemInCart(1, new CartItem(0, 0, 999, 1));
+    }
+
+    @Test
+    public void applyCartItemOperations_applies_operations_in_order() {
+        CartItem existing = dao.putItemInCart(1, new CartItem(0, 0, 1, 1));
+        dao.putItemInCart(1, new CartItem(0, 0, 3, 1));
+
+        int rowsAffected = dao.applyCartItemOperations(1, List.of(
+                new CartItemOperation(CartItemOperation.ADD, 1, 2),
+                new CartItemOperation(CartItemOperation.ADD, 2, 4),
+                new CartItemOperation(CartItemOperation.SET, 2, 1),
+                new CartItemOperation(CartItemOperation.REMOVE, 3, 0),
+                new CartItemOperation(CartItemOperation.SET, 4, 0)
+        ));
+
+        Assert.assertEquals(4, rowsAffected);
+        Assert.assertEquals(3, dao.getCartItemByCartItemId(existing.getCartItemId()).getQuantity());
+        Assert.assertEquals(Integer.valueOf(1), getQuantityInCart(1, 2));
+        Assert.assertNull(getQuantityInCart(1, 3));
+    }
+
+    @Test
+    public void applyCartItemOperations_rolls_back_earlier_operations_when_a_later_one_fails() {
+        // With a transaction manager the operations run in a transaction of their own, as they do in the application
+        UserLocks userLocks = new UserLocks(jdbcTemplate, new DataSourceTransactionManager(dataSource), 16, false);
+        JdbcCartItemDao transactionalDao = new JdbcCartItemDao(jdbcTemplate, userLocks);
+
+        try {
+            transactionalDao.applyCartItemOperations(1, List.of(
+                    new CartItemOperation(CartItemOperation.ADD, 1, 2),
+                    new CartItemOperation(CartItemOperation.SET, 2, 3),
+                    new CartItemOperation(CartItemOperation.ADD, 999, 1)
+            ));
+            Assert.fail("Expected DaoException");
+        } catch (DaoException e) {
+            // expected
+        }
+
+        Assert.assertNull(getQuantityInCart(1, 1));
+        Assert.assertNull(getQuantityInCart(1, 2));
+    }
+
+    private Integer getQuantityInCart(int userId, int productId) {
+        List<Integer> quantities = jdbcTemplate.queryForList(
+                "SELECT quantity FROM cart_item WHERE user_id = ? AND product_id = ?", Integer.class, userId, productId);
+        return quantities.isEmpty() ? null : quantities.get(0);
+    }
+}
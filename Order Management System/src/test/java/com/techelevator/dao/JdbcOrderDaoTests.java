@@ -0,0 +1,93 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.EmptyCartException;
+import com.techelevator.model.Order;
+import com.techelevator.tax.TaxClient;
+import com.techelevator.tax.TaxRateCache;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+public class JdbcOrderDaoTests extends BaseDaoTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcOrderDao dao;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TaxClient taxClient = new TaxClient(new RestTemplateBuilder(), "http://localhost:1/tax?state=", 300, 4, 5, 60000, 2);
+        dao = new JdbcOrderDao(jdbcTemplate, new TaxRateCache(taxClient, true, 100, 60, 1000, "OH:5.75"),
+                new UserLocks(16));
+    }
+
+    @Test
+    public void placeOrder_snapshots_cart_lines_and_totals_and_clears_cart() {
+        addToCart(1, 2, 2);
+        addToCart(1, 5, 1);
+
+        Order order = dao.placeOrder(1, "request-1");
+
+        Assert.assertTrue(order.getOrderId() > 0);
+        Assert.assertNotNull(order.getCreated());
+        Assert.assertEquals("OH", order.getStateCode());
+        Assert.assertEquals(2, order.getItems().size());
+        Assert.assertEquals(2, order.getItems().get(0).getProductId());
+        Assert.assertEquals("Product 2", order.getItems().get(0).getProductName());
+        Assert.assertEquals(2, order.getItems().get(0).getQuantity());
+        Assert.assertEquals(new BigDecimal("21.99"), order.getItems().get(0).getPrice());
+        Assert.assertEquals(5, order.getItems().get(1).getProductId());
+        Assert.assertEquals(new BigDecimal("49.77"), order.getSubtotal());
+        Assert.assertEquals(new BigDecimal("2.87"), order.getTaxAmount());
+        Assert.assertEquals(new BigDecimal("52.64"), order.getTotal());
+        Assert.assertEquals(0, countCartItems(1));
+
+        Order read = dao.getOrderByRequestId(1, "request-1");
+        Assert.assertEquals(order.getOrderId(), read.getOrderId());
+        Assert.assertEquals(2, read.getItems().size());
+        Assert.assertEquals(order.getItems().get(1).getOrderItemId(), read.getItems().get(1).getOrderItemId());
+        Assert.assertEquals(0, order.getTotal().compareTo(read.getTotal()));
+    }
+
+    @Test
+    public void placeOrder_with_same_request_id_returns_the_existing_order() {
+        addToCart(1, 1, 1);
+        Order first = dao.placeOrder(1, "request-1");
+
+        // The retry finds the first order, so the newly added line stays in the cart
+        addToCart(1, 3, 1);
+        Order retry = dao.placeOrder(1, "request-1");
+
+        Assert.assertEquals(first.getOrderId(), retry.getOrderId());
+        Assert.assertEquals(1, retry.getItems().size());
+        Assert.assertEquals(1, countCartItems(1));
+        Assert.assertEquals(Integer.valueOf(1),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = 1", Integer.class));
+    }
+
+    @Test
+    public void placeOrder_with_empty_cart_throws_EmptyCartException() {
+        try {
+            dao.placeOrder(1, "request-1");
+            Assert.fail("Expected EmptyCartException");
+        } catch (EmptyCartException e) {
+            // expected
+        }
+        Assert.assertNull(dao.getOrderByRequestId(1, "request-1"));
+    }
+
+    private void addToCart(int userId, int productId, int quantity) {
+        jdbcTemplate.update("INSERT INTO cart_item (user_id, product_id, quantity) VALUES (?, ?, ?)",
+                userId, productId, quantity);
+    }
+
+    private int countCartItems(int userId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_item WHERE user_id = ?",
+                Integer.class, userId);
+        return count == null ? 0 : count;
+    }
+}
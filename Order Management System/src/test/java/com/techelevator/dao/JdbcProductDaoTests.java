@@ -0,0 +1,85 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Product;
+import com.techelevator.search.ProductSearchIndex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class JdbcProductDaoTests extends BaseDaoTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcProductDao dao;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dao = new JdbcProductDao(jdbcTemplate);
+    }
+
+    @Test
+    public void getProductsPage_walks_the_catalog_in_name_order() {
+        List<Product> firstPage = dao.getProductsPage(null, 0, 3, true);
+        Assert.assertEquals(3, firstPage.size());
+        Assert.assertEquals("Product 1", firstPage.get(0).getName());
+        Assert.assertEquals("Product description 1.", firstPage.get(0).getDescription());
+
+        Product last = firstPage.get(2);
+        List<Product> secondPage = dao.getProductsPage(last.getName(), last.getProductId(), 3, true);
+        Assert.assertEquals(3, secondPage.size());
+        Assert.assertEquals("Product name 4", secondPage.get(0).getName());
+
+        last = secondPage.get(2);
+        List<Product> lastPage = dao.getProductsPage(last.getName(), last.getProductId(), 3, true);
+        Assert.assertEquals(1, lastPage.size());
+        Assert.assertEquals("Product name 7", lastPage.get(0).getName());
+    }
+
+    @Test
+    public void getProductsPage_without_description_leaves_it_out() {
+        List<Product> products = dao.getProductsPage(null, 0, 10, false);
+        Assert.assertEquals(7, products.size());
+        for (Product product : products) {
+            Assert.assertNull(product.getDescription());
+            Assert.assertNotNull(product.getPrice());
+        }
+    }
+
+    @Test
+    public void searchProducts_ranks_and_orders_like_the_search_index() {
+        addProduct("GK-100", "geek");
+        addProduct("GK-101", "GEEK");
+        addProduct("GK-102", "Geek cup");
+        addProduct("GK-103", "Solar Geeks mug");
+        addProduct("GK-104", "solar-geeky pin");
+        addProduct("GK-105", "Ageeks tote");
+        addProduct("GEEK", "Zebra");
+        addProduct("GK-107", "a geek");
+        addProduct("GK-108", "A-Geek");
+        addProduct("GK-109", "geek_x 100% cotton");
+        addProduct("GK-110", "geekax");
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.addAll(dao.getProducts());
+
+        for (String text : List.of("geek", "GEEK", "Geek c", "k_x", "100%", "a", "-", "gk-1", "product", "x")) {
+            Assert.assertEquals("Search for '" + text + "'",
+                    productIds(index.search(text)), productIds(dao.searchProducts(text)));
+        }
+    }
+
+    private void addProduct(String sku, String name) {
+        jdbcTemplate.update("INSERT INTO product (product_sku, name, price) VALUES (?, ?, 1.00)", sku, name);
+    }
+
+    private List<Integer> productIds(List<Product> products) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : products) {
+            ids.add(product.getProductId());
+        }
+        return ids;
+    }
+}
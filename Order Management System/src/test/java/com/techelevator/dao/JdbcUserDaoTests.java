@@ -7,6 +7,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.List;
@@ -21,7 +22,7 @@ public class JdbcUserDaoTests extends BaseDaoTests {
     @Before
     public void setup() {
         JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
-        dao = new JdbcUserDao(jdbcTemplate);
+        dao = new JdbcUserDao(jdbcTemplate, new BCryptPasswordEncoder());
     }
 
     @Test
@@ -43,6 +44,17 @@ public class JdbcUserDaoTests extends BaseDaoTests {
                 USER_1, actualUser);
     }
 
+    @Test
+    public void getUserCredentialsByUsername_reads_only_login_columns() {
+        User user = dao.getUserCredentialsByUsername(" USER1 ");
+        Assert.assertEquals(USER_1.getId(), user.getId());
+        Assert.assertEquals(USER_1.getUsername(), user.getUsername());
+        Assert.assertEquals(USER_1.getAuthorities(), user.getAuthorities());
+        Assert.assertNotNull(user.getPassword());
+        Assert.assertNull(user.getAddress());
+        Assert.assertNull(dao.getUserCredentialsByUsername("invalid"));
+    }
+
     @Test
     public void getUserById_given_invalid_user_id_returns_null() {
         User user = dao.getUserById(-1);
@@ -0,0 +1,94 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Wishlist;
+import com.techelevator.model.WishlistItem;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class JdbcWishlistDaoTests extends BaseDaoTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcWishlistDao dao;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dao = new JdbcWishlistDao(jdbcTemplate, new UserLocks(16));
+    }
+
+    @Test
+    public void createWishlist_adds_items_and_skips_unknown_and_duplicate_products() {
+        Wishlist created = dao.createWishlist(1, newWishlist("Birthday", 4, 3, 4, 99));
+
+        Assert.assertTrue(created.getWishlistId() > 0);
+        Assert.assertEquals(1, created.getUserId());
+        Assert.assertEquals("Birthday", created.getName());
+        Assert.assertEquals(2, created.getItems().size());
+        Assert.assertEquals(4, created.getItems().get(0).getProductId());
+        Assert.assertEquals("SKU-004", created.getItems().get(0).getProduct().getProductSku());
+        Assert.assertEquals(3, created.getItems().get(1).getProductId());
+    }
+
+    @Test
+    public void getWishlistsByUserId_returns_only_the_users_wishlists_including_empty_ones() {
+        dao.createWishlist(1, newWishlist("First", 1, 2));
+        dao.createWishlist(1, newWishlist("Empty"));
+        dao.createWishlist(2, newWishlist("Someone else's", 1));
+
+        List<Wishlist> wishlists = dao.getWishlistsByUserId(1);
+        Assert.assertEquals(2, wishlists.size());
+        Assert.assertEquals(2, wishlists.get(0).getItems().size());
+        Assert.assertEquals("Empty", wishlists.get(1).getName());
+        Assert.assertTrue(wishlists.get(1).getItems().isEmpty());
+    }
+
+    @Test
+    public void changes_to_another_users_wishlist_are_ignored() {
+        Wishlist wishlist = dao.createWishlist(2, newWishlist("Someone else's", 1));
+
+        Assert.assertNull(dao.getWishlistById(1, wishlist.getWishlistId()));
+        Assert.assertEquals(0, dao.addProductsToWishlist(1, wishlist.getWishlistId(), Arrays.asList(2, 3)));
+        Assert.assertEquals(0, dao.deleteProductFromWishlist(1, wishlist.getWishlistId(), 1));
+        Assert.assertEquals(0, dao.moveWishlistToCart(1, wishlist.getWishlistId()));
+        Assert.assertEquals(0, dao.deleteWishlist(1, wishlist.getWishlistId()));
+        Assert.assertEquals(1, dao.getWishlistById(2, wishlist.getWishlistId()).getItems().size());
+    }
+
+    @Test
+    public void moveWishlistToCart_adds_missing_products_and_empties_wishlist() {
+        jdbcTemplate.update("INSERT INTO cart_item (user_id, product_id, quantity) VALUES (1, 5, 3)");
+        Wishlist wishlist = dao.createWishlist(1, newWishlist("Holiday", 5, 6, 7));
+
+        Assert.assertEquals(3, dao.moveWishlistToCart(1, wishlist.getWishlistId()));
+
+        Assert.assertTrue(dao.getWishlistById(1, wishlist.getWishlistId()).getItems().isEmpty());
+        List<Integer> quantities = jdbcTemplate.queryForList(
+                "SELECT quantity FROM cart_item WHERE user_id = 1 ORDER BY product_id", Integer.class);
+        Assert.assertEquals(Arrays.asList(3, 1, 1), quantities);
+    }
+
+    @Test
+    public void deleteWishlist_removes_wishlist_and_items() {
+        Wishlist wishlist = dao.createWishlist(1, newWishlist("Old", 1, 2));
+
+        Assert.assertEquals(1, dao.deleteProductFromWishlist(1, wishlist.getWishlistId(), 1));
+        Assert.assertEquals(1, dao.deleteWishlist(1, wishlist.getWishlistId()));
+        Assert.assertNull(dao.getWishlistById(1, wishlist.getWishlistId()));
+    }
+
+    private static Wishlist newWishlist(String name, int... productIds) {
+        Wishlist wishlist = new Wishlist();
+        wishlist.setName(name);
+        for (int productId : productIds) {
+            WishlistItem item = new WishlistItem();
+            item.setProductId(productId);
+            wishlist.getItems().add(item);
+        }
+        return wishlist;
+    }
+}
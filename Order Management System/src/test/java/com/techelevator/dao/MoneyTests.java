@@ -0,0 +1,66 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Cart;
+import com.techelevator.model.CartItemDetails;
+import com.techelevator.tax.TaxClient;
+import com.techelevator.tax.TaxRateCache;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MoneyTests {
+
+    @Test
+    public void converts_prices_to_cents_and_back() {
+        Assert.assertEquals(1999, Money.centsOf(new BigDecimal("19.99")));
+        Assert.assertEquals(500, Money.centsOf(new BigDecimal("5")));
+        Assert.assertEquals(new BigDecimal("19.99"), Money.ofCents(1999).toBigDecimal());
+        Assert.assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void fractions_of_a_cent_are_rejected() {
+        Money.centsOf(new BigDecimal("0.001"));
+    }
+
+    @Test
+    public void tax_is_rounded_up_once() {
+        Assert.assertEquals(Money.ofCents(287), Money.ofCents(4977).taxAt(new BigDecimal("0.0575")));
+        Assert.assertEquals(Money.ofCents(100), Money.ofCents(2000).taxAt(new BigDecimal("0.05")));
+        Assert.assertEquals(Money.ZERO, Money.ZERO.taxAt(new BigDecimal("0.0575")));
+        Assert.assertEquals(Money.ofCents(1), Money.ofCents(1).taxAt(new BigDecimal("0.0000001")));
+    }
+
+    @Test
+    public void cart_totals_are_exact_for_many_lines() {
+        List<CartItemDetails> itemsInCart = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            itemsInCart.add(new CartItemDetails("Product " + i, 3, new BigDecimal("0.10")));
+        }
+
+        Cart cart = CartPricing.price(itemsInCart, new BigDecimal("0.0575"));
+
+        Assert.assertEquals(new BigDecimal("90.00"), cart.getSubtotal());
+        Assert.assertEquals(new BigDecimal("5.18"), cart.getTaxAmount());
+        Assert.assertEquals(new BigDecimal("95.18"), cart.getCartTotal());
+    }
+
+    @Test
+    public void service_rate_in_percent_is_priced_as_a_fraction() {
+        // The tax service reports 5.75 for 5.75%; TaxRateCache hands it to pricing as 0.0575
+        TaxClient taxClient = new TaxClient(new RestTemplateBuilder(), "http://localhost:1/tax?state=", 300, 4, 5, 60000, 2);
+        TaxRateCache taxRateCache = new TaxRateCache(taxClient, true, 100, 60, 1000, "OH:5.75");
+        List<CartItemDetails> itemsInCart = new ArrayList<>();
+        itemsInCart.add(new CartItemDetails("Product 1", 2, new BigDecimal("24.00")));
+
+        Cart cart = CartPricing.price(itemsInCart, taxRateCache.getSalesTaxRate("OH"));
+
+        Assert.assertEquals(new BigDecimal("48.00"), cart.getSubtotal());
+        Assert.assertEquals(new BigDecimal("2.76"), cart.getTaxAmount());
+        Assert.assertEquals(new BigDecimal("50.76"), cart.getCartTotal());
+    }
+}
@@ -0,0 +1,109 @@
+package com.techelevator.dao;
+
+import com.techelevator.exception.DaoException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UserLocksTests extends BaseDaoTests {
+
+    private final UserLocks userLocks = new UserLocks(16);
+
+    @Test
+    public void changes_for_the_same_user_do_not_interleave() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 50; j++) {
+                    userLocks.withLock(7, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.yield();
+                        return running.decrementAndGet();
+                    });
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void a_held_lock_does_not_block_other_users() throws InterruptedException {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> userLocks.withLock(1, () -> {
+            held.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }));
+        holder.start();
+        Assert.assertTrue(held.await(5, TimeUnit.SECONDS));
+        try {
+            Assert.assertEquals("done", userLocks.withLock(2, () -> "done"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void withLock_holds_an_advisory_lock_until_the_transaction_ends() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        UserLocks advisoryLocks = new UserLocks(jdbcTemplate, new DataSourceTransactionManager(dataSource), 16, true);
+
+        int heldDuringChange = advisoryLocks.withLock(7, () -> countCartLocks(jdbcTemplate, 7));
+
+        Assert.assertEquals(1, heldDuringChange);
+        Assert.assertEquals(0, countCartLocks(jdbcTemplate, 7));
+    }
+
+    @Test
+    public void withLock_rolls_back_a_change_that_fails() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        UserLocks transactionalLocks = new UserLocks(jdbcTemplate, new DataSourceTransactionManager(dataSource), 16, false);
+
+        try {
+            transactionalLocks.withLock(1, () -> {
+                jdbcTemplate.update("INSERT INTO cart_item (user_id, product_id, quantity) VALUES (1, 1, 1)");
+                throw new IllegalStateException("Failed after writing");
+            });
+            Assert.fail("Expected the change to fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        Assert.assertEquals(Integer.valueOf(0),
+                jdbcTemplate.queryForObject("SELECT count(*) FROM cart_item WHERE user_id = 1", Integer.class));
+    }
+
+    @Test(expected = DaoException.class)
+    public void withLock_without_a_database_throws_DaoException() {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:postgresql://localhost:1/m2_final_project");
+        UserLocks unreachableLocks = new UserLocks(new JdbcTemplate(unreachable),
+                new DataSourceTransactionManager(unreachable), 16, false);
+
+        unreachableLocks.withLock(1, () -> "unreachable");
+    }
+
+    private int countCartLocks(JdbcTemplate jdbcTemplate, int userId) {
+        String sql = "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND pid = pg_backend_pid() " +
+                "AND classid::text::int = ? AND objid::text::int = ? AND objsubid = 2";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, UserLocks.CART_LOCK_NAMESPACE, userId);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.techelevator.metrics;
+
+import com.techelevator.dao.BaseDaoTests;
+import com.techelevator.dao.JdbcWishlistDao;
+import com.techelevator.dao.UserLocks;
+import com.techelevator.dao.WishlistDao;
+import com.techelevator.exception.DaoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+public class MetricsConfigTests extends BaseDaoTests {
+
+    private SimpleMeterRegistry registry;
+
+    @Before
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void isDaoMethod_matches_only_methods_of_Dao_interfaces() throws NoSuchMethodException {
+        Assert.assertTrue(MetricsConfig.isDaoMethod(
+                JdbcExampleDao.class.getMethod("getExample", int.class), JdbcExampleDao.class));
+        Assert.assertFalse(MetricsConfig.isDaoMethod(
+                JdbcExampleDao.class.getMethod("run"), JdbcExampleDao.class));
+        Assert.assertFalse(MetricsConfig.isDaoMethod(
+                JdbcExampleDao.class.getMethod("helper"), JdbcExampleDao.class));
+        Assert.assertFalse(MetricsConfig.isDaoMethod(
+                JdbcExampleDao.class.getMethod("toString"), JdbcExampleDao.class));
+    }
+
+    @Test
+    public void dao_call_is_timed_with_dao_method_and_no_exception() {
+        WishlistDao dao = timed(new JdbcWishlistDao(new JdbcTemplate(dataSource), new UserLocks(16)));
+
+        Assert.assertTrue(dao.getWishlistsByUserId(1).isEmpty());
+
+        Timer timer = registry.find(DaoMetricsInterceptor.METRIC_NAME)
+                .tags("dao", "JdbcWishlistDao", "method", "getWishlistsByUserId", "exception", "none").timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void failed_dao_call_is_timed_with_the_exception_it_threw() {
+        JdbcTemplate unreachable = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:postgresql://localhost:1/m2_final_project"));
+        WishlistDao dao = timed(new JdbcWishlistDao(unreachable, new UserLocks(16)));
+
+        try {
+            dao.getWishlistsByUserId(1);
+            Assert.fail("Expected DaoException");
+        } catch (DaoException e) {
+            // expected
+        }
+
+        Timer timer = registry.find(DaoMetricsInterceptor.METRIC_NAME)
+                .tags("dao", "JdbcWishlistDao", "method", "getWishlistsByUserId", "exception", "DaoException").timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(1, timer.count());
+    }
+
+    // Proxies the DAO the way the application context does, through the advisor MetricsConfig registers
+    private WishlistDao timed(JdbcWishlistDao target) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvisor(MetricsConfig.daoMetricsAdvisor(beanFactory.getBeanProvider(MeterRegistry.class)));
+        return (WishlistDao) proxyFactory.getProxy();
+    }
+
+    interface ExampleDao {
+        String getExample(int id);
+    }
+
+    static class JdbcExampleDao implements ExampleDao, Runnable {
+        @Override
+        public String getExample(int id) {
+            return "example";
+        }
+
+        @Override
+        public void run() {
+        }
+
+        public void helper() {
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.techelevator.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+public class CartItemOperationTests {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    public void add_without_a_quantity_adds_one() {
+        CartItemOperation operation = new CartItemOperation();
+        operation.setOperation(CartItemOperation.ADD);
+        operation.setProductId(1);
+
+        Assert.assertTrue(validator.validate(operation).isEmpty());
+        Assert.assertEquals(1, operation.getQuantity());
+    }
+
+    @Test
+    public void add_of_less_than_one_is_rejected() {
+        Assert.assertFalse(validator.validate(new CartItemOperation(CartItemOperation.ADD, 1, 0)).isEmpty());
+        Assert.assertFalse(validator.validate(new CartItemOperation(CartItemOperation.ADD, 1, -3)).isEmpty());
+        Assert.assertTrue(validator.validate(new CartItemOperation(CartItemOperation.ADD, 1, 2)).isEmpty());
+    }
+
+    @Test
+    public void set_of_zero_is_allowed() {
+        Assert.assertTrue(validator.validate(new CartItemOperation(CartItemOperation.SET, 1, 0)).isEmpty());
+        Assert.assertTrue(validator.validate(new CartItemOperation(CartItemOperation.REMOVE, 1, 0)).isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.techelevator.search;
+
+import com.techelevator.model.Product;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ProductSearchIndexTests {
+
+    private static final Product MUG = new Product(1, "MUG-023", "Solar Geeks coffee mug", null, BigDecimal.ONE, null);
+    private static final Product YETI = new Product(2, "YET-001", "Solar Geeks Yeti", null, BigDecimal.ONE, null);
+    private static final Product POSTER = new Product(3, "ART-256", "Galactic poster", null, BigDecimal.ONE, null);
+    private static final Product CAP = new Product(4, "HAT-928", "Cap", null, BigDecimal.ONE, null);
+
+    private ProductSearchIndex index;
+
+    @Before
+    public void setup() {
+        index = new ProductSearchIndex();
+        index.addAll(List.of(MUG, YETI, POSTER, CAP));
+    }
+
+    @Test
+    public void findByName_matches_substrings_ignoring_case() {
+        List<Product> products = index.findByName("GEEKS");
+        Assert.assertEquals(List.of(MUG, YETI), products);
+
+        Assert.assertEquals(List.of(POSTER), index.findByName("lact"));
+        Assert.assertTrue(index.findByName("geeky").isEmpty());
+    }
+
+    @Test
+    public void findByName_with_short_query_still_matches() {
+        Assert.assertEquals(List.of(POSTER, YETI), index.findByName("TI"));
+        Assert.assertEquals(List.of(CAP), index.findByName("ap"));
+    }
+
+    @Test
+    public void findBySku_matches_substrings() {
+        Assert.assertEquals(List.of(YETI), index.findBySku("t-0"));
+        Assert.assertEquals(List.of(CAP), index.findBySku("hat-928"));
+    }
+
+    @Test
+    public void search_ranks_exact_then_prefix_then_word_then_substring() {
+        Product geekCup = new Product(5, "CUP-001", "Geek cup", null, BigDecimal.ONE, null);
+        Product geek = new Product(6, "GEK-001", "geek", null, BigDecimal.ONE, null);
+        Product ageek = new Product(7, "AGK-001", "Ageeks tote", null, BigDecimal.ONE, null);
+        index.addAll(List.of(geekCup, geek, ageek));
+
+        Assert.assertEquals(List.of(geek, geekCup, MUG, YETI, ageek), index.search("GEEK"));
+        Assert.assertEquals(List.of(MUG), index.search("mug-023"));
+    }
+
+    @Test
+    public void add_and_remove_update_the_index() {
+        index.remove(MUG.getProductId());
+        Assert.assertEquals(List.of(YETI), index.findByName("geeks"));
+
+        Product renamed = new Product(2, "YET-001", "Stellar Yeti", null, BigDecimal.ONE, null);
+        index.add(renamed);
+        Assert.assertTrue(index.findByName("geeks").isEmpty());
+        Assert.assertEquals(List.of(renamed), index.findByName("stellar"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.techelevator.security;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordHashingExecutorTests {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 5);
+
+    @After
+    public void shutdown() {
+        executor.destroy();
+    }
+
+    @Test
+    public void execute_returns_result_and_rethrows_task_exceptions() {
+        Assert.assertEquals("hashed", executor.execute(() -> "hashed"));
+
+        try {
+            executor.execute(() -> {
+                throw new BadCredentialsException("Bad credentials");
+            });
+            Assert.fail("Expected BadCredentialsException");
+        } catch (BadCredentialsException e) {
+            Assert.assertEquals("Bad credentials", e.getMessage());
+        }
+    }
+
+    @Test
+    public void execute_times_each_task_once_bound_to_a_registry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.execute(() -> "before binding");
+        executor.bindTo(registry);
+
+        executor.execute(() -> "hashed");
+
+        Timer timer = registry.find(PasswordHashingExecutor.METRIC_NAME).timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void execute_rejects_when_pool_and_queue_are_full() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread running = new Thread(() -> executor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        Thread queued = new Thread(() -> executor.execute(() -> true));
+        running.start();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        queued.start();
+        while (executor.getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+
+        try {
+            executor.execute(() -> true);
+            Assert.fail("Expected PasswordHashingBusyException");
+        } catch (PasswordHashingBusyException e) {
+            Assert.assertEquals(5, e.getRetryAfterSeconds());
+            Assert.assertEquals(1, executor.getRejectedCount());
+        } finally {
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.techelevator.security;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class PooledPasswordEncoderTests {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 5);
+    private final PooledPasswordEncoder encoder = new PooledPasswordEncoder(executor);
+
+    @After
+    public void shutdown() {
+        executor.destroy();
+    }
+
+    @Test
+    public void encode_and_matches_agree_with_plain_bcrypt() {
+        String hash = encoder.encode("password");
+
+        Assert.assertTrue(new BCryptPasswordEncoder().matches("password", hash));
+        Assert.assertTrue(encoder.matches("password", hash));
+        Assert.assertFalse(encoder.matches("wrong", hash));
+    }
+}
@@ -0,0 +1,95 @@
+package com.techelevator.security.jwt;
+
+import com.techelevator.security.AuthenticatedUser;
+import com.techelevator.security.SecurityUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.Optional;
+
+public class TokenProviderTests {
+
+    private static final String SECRET = "T9GKvpb3oX5qqo3sd6+OJ2iqldexr32h7FHMpkgON+6yAtr2gfJOQkjt4mR9b7rCPL3wip8vgXzkr2LOpbAn" +
+            "itVQvHnIO2tlaQdnPo+xc10/KtcEBDMQV6nPn41+ScZ9wbvTIQn2+FUoJkQhXFcWRe4r4CbDKzZ73Z4ZyhMmJ4n8crYDl7dR3XjScLq4";
+
+    private static final Authentication USER = new UsernamePasswordAuthenticationToken("user1", "",
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Test
+    public void authenticate_returns_cached_authentication_for_same_token() {
+        TokenProvider tokenProvider = newTokenProvider(3600, 10);
+        String token = tokenProvider.createToken(USER, false);
+
+        Authentication first = tokenProvider.authenticate(token);
+        Assert.assertNotNull(first);
+        Assert.assertEquals("user1", first.getName());
+
+        // A cache hit is a new Authentication for the same principal, so requests don't share one
+        Authentication second = tokenProvider.authenticate(token);
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getPrincipal(), second.getPrincipal());
+        Assert.assertEquals(first.getAuthorities(), second.getAuthorities());
+        Assert.assertTrue(second.isAuthenticated());
+    }
+
+    @Test
+    public void token_carries_user_id_of_authenticated_user() {
+        TokenProvider tokenProvider = newTokenProvider(3600, 10);
+        AuthenticatedUser user = new AuthenticatedUser(7, "user1", "", USER.getAuthorities());
+        Authentication login = new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
+
+        Authentication authentication = tokenProvider.authenticate(tokenProvider.createToken(login, false));
+        Assert.assertEquals(Optional.of(7), SecurityUtils.getUserId(authentication));
+
+        // A token without the user id claim still authenticates, but the id has to be looked up
+        Authentication withoutUserId = tokenProvider.authenticate(tokenProvider.createToken(USER, false));
+        Assert.assertEquals("user1", withoutUserId.getName());
+        Assert.assertEquals(Optional.empty(), SecurityUtils.getUserId(withoutUserId));
+    }
+
+    @Test
+    public void authenticate_rejects_tampered_and_expired_tokens() {
+        TokenProvider tokenProvider = newTokenProvider(3600, 10);
+        String token = tokenProvider.createToken(USER, false);
+        Assert.assertNull(tokenProvider.authenticate(token.substring(0, token.length() - 2)));
+
+        TokenProvider expiredTokenProvider = newTokenProvider(-60, 10);
+        Assert.assertNull(expiredTokenProvider.authenticate(expiredTokenProvider.createToken(USER, false)));
+    }
+
+    @Test
+    public void verified_token_cache_evicts_least_recently_used_and_expired_tokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("a", USER, 1000);
+        cache.put("b", USER, 1000);
+        Assert.assertEquals("user1", cache.get("a", 0).getName());
+        cache.put("c", USER, 1000);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("b", 0));
+        Assert.assertEquals("user1", cache.get("a", 0).getName());
+        Assert.assertNull(cache.get("c", 1000));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void striped_verified_token_cache_stays_within_its_size() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(1000);
+        for (int i = 0; i < 5000; i++) {
+            cache.put("token-" + i, USER, 1000);
+        }
+
+        Assert.assertTrue(cache.size() <= 1000);
+        Assert.assertEquals("user1", cache.get("token-4999", 0).getName());
+    }
+
+    private TokenProvider newTokenProvider(long tokenValidityInSeconds, int cacheSize) {
+        TokenProvider tokenProvider = new TokenProvider(SECRET, tokenValidityInSeconds, tokenValidityInSeconds, cacheSize);
+        tokenProvider.afterPropertiesSet();
+        return tokenProvider;
+    }
+}
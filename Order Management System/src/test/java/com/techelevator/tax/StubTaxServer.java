@@ -0,0 +1,100 @@
+package com.techelevator.tax;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the sales tax service, answering GET /api/statetax?state=XX like the real one, with rates
+ * in percent.
+ *
+ * Tests can make it slow or failing. Run main to use it while developing offline, with
+ * tax.url=http://localhost:8089/api/statetax?state=
+ */
+public class StubTaxServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, String> rates = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMillis;
+
+    public StubTaxServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/api/statetax", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubTaxServer stub = new StubTaxServer(args.length > 0 ? Integer.parseInt(args[0]) : 8089);
+        for (String stateCode : TaxRateCache.STATE_CODES) {
+            stub.setRate(stateCode, "5.75");
+        }
+        System.out.println("Stub tax service listening on " + stub.getUrl());
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/statetax?state=";
+    }
+
+    public void setRate(String stateCode, String rate) {
+        rates.put(stateCode, rate);
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = exchange.getRequestURI().getQuery();
+        String stateCode = query != null && query.startsWith("state=") ? query.substring(6) : "";
+        String rate = rates.get(stateCode);
+
+        int responseStatus = status;
+        String body = "{}";
+        if (responseStatus == 200 && rate == null) {
+            responseStatus = 404;
+        } else if (responseStatus == 200) {
+            body = "{\"salesTax\":" + rate + ",\"lastUpdated\":\"Fri Jan 01 2021\"}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,117 @@
+package com.techelevator.tax;
+
+import com.techelevator.model.TaxDto;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaxClientTests {
+
+    private StubTaxServer stub;
+    private TaxClient client;
+
+    @Before
+    public void setup() throws IOException {
+        stub = new StubTaxServer(0);
+        stub.setRate("OH", "5.75");
+        client = new TaxClient(new RestTemplateBuilder(), stub.getUrl(), 200, 4, 2, 60000, 2);
+    }
+
+    @After
+    public void shutdown() throws IOException {
+        client.destroy();
+        stub.close();
+    }
+
+    @Test
+    public void getSalesTax_reads_rate_from_service() {
+        TaxDto taxDto = client.getSalesTax("OH");
+        Assert.assertEquals(new BigDecimal("5.75"), taxDto.getSalesTax());
+        Assert.assertEquals(new BigDecimal("5.75"), client.getSalesTaxAsync("OH").join().getSalesTax());
+    }
+
+    @Test
+    public void getSalesTax_times_out_on_slow_service() {
+        stub.setDelayMillis(2000);
+        long start = System.currentTimeMillis();
+        try {
+            client.getSalesTax("OH");
+            Assert.fail("Expected TaxServiceException");
+        } catch (TaxServiceException e) {
+            Assert.assertTrue("Call should be cut off by the read timeout",
+                    System.currentTimeMillis() - start < 1500);
+        }
+    }
+
+    @Test
+    public void circuit_opens_after_repeated_failures() {
+        stub.setStatus(500);
+        for (int i = 0; i < 2; i++) {
+            try {
+                client.getSalesTax("OH");
+                Assert.fail("Expected TaxServiceException");
+            } catch (TaxServiceException e) {
+                // expected
+            }
+        }
+        Assert.assertTrue(client.isCircuitOpen());
+
+        stub.setStatus(200);
+        try {
+            client.getSalesTaxAsync("OH").join();
+            Assert.fail("Expected the open circuit to refuse the call");
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof TaxServiceException);
+        }
+        Assert.assertEquals(2, stub.getRequestCount());
+    }
+
+    @Test
+    public void unexpected_exception_in_trial_call_does_not_keep_circuit_open() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        RestTemplateBuilder failingTwice = new RestTemplateBuilder().additionalInterceptors((request, body, execution) -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new IllegalStateException("Unexpected failure");
+            }
+            return execution.execute(request, body);
+        });
+        TaxClient trialClient = new TaxClient(failingTwice, stub.getUrl(), 200, 4, 1, 0, 2);
+        try {
+            // The first call opens the circuit and the second is the trial call
+            for (int i = 0; i < 2; i++) {
+                try {
+                    trialClient.getSalesTax("OH");
+                    Assert.fail("Expected IllegalStateException");
+                } catch (IllegalStateException e) {
+                    // expected
+                }
+            }
+            Assert.assertTrue(trialClient.isCircuitOpen());
+
+            Assert.assertEquals(new BigDecimal("5.75"), trialClient.getSalesTax("OH").getSalesTax());
+            Assert.assertFalse(trialClient.isCircuitOpen());
+        } finally {
+            trialClient.destroy();
+        }
+    }
+
+    @Test
+    public void unknown_state_does_not_open_circuit() {
+        for (int i = 0; i < 3; i++) {
+            try {
+                client.getSalesTax("ZZ");
+                Assert.fail("Expected TaxServiceException");
+            } catch (TaxServiceException e) {
+                // expected
+            }
+        }
+        Assert.assertFalse(client.isCircuitOpen());
+    }
+}
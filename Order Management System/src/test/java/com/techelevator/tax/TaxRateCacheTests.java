@@ -0,0 +1,121 @@
+package com.techelevator.tax;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TaxRateCacheTests {
+
+    private static final String LOCAL_RATES = "OH:5.75, ca:7.25";
+
+    @Test
+    public void offline_cache_serves_local_rates_as_fractions() {
+        TaxRateCache cache = new TaxRateCache(newClient("http://localhost:1/tax?state="), true, 100, 60, 1000,
+                LOCAL_RATES);
+
+        Assert.assertEquals(new BigDecimal("0.0575"), cache.getSalesTaxRate("OH"));
+        Assert.assertEquals(new BigDecimal("0.0725"), cache.getSalesTaxRate("ca"));
+        Assert.assertEquals(BigDecimal.ZERO, cache.getSalesTaxRate("IL"));
+        Assert.assertEquals(BigDecimal.ZERO, cache.getSalesTaxRate(null));
+    }
+
+    @Test
+    public void unreachable_tax_service_falls_back_to_local_rates() {
+        TaxRateCache cache = new TaxRateCache(newClient("http://localhost:1/tax?state="), false, 100, 60, 1000,
+                LOCAL_RATES);
+
+        Assert.assertEquals(new BigDecimal("0.0575"), cache.getSalesTaxRate("OH"));
+        Assert.assertEquals(BigDecimal.ZERO, cache.getSalesTaxRate("IL"));
+    }
+
+    @Test
+    public void async_lookup_caches_rate_and_falls_back_when_service_is_slow() throws IOException {
+        try (StubTaxServer stub = new StubTaxServer(0)) {
+            stub.setRate("OH", "6.00");
+            TaxRateCache cache = new TaxRateCache(newClient(stub.getUrl()), false, 300, 0, 0, LOCAL_RATES);
+            Assert.assertEquals(new BigDecimal("0.0600"), cache.getSalesTaxRateAsync("oh").join());
+
+            // Every cached rate is stale (max staleness 0), so the slow service is asked again
+            stub.setDelayMillis(2000);
+            long start = System.currentTimeMillis();
+            Assert.assertEquals(new BigDecimal("0.0600"), cache.getSalesTaxRateAsync("OH").join());
+            Assert.assertEquals(new BigDecimal("0.0725"), cache.getSalesTaxRateAsync("CA").join());
+            Assert.assertTrue("Lookups should give up after the timeout", System.currentTimeMillis() - start < 1500);
+        }
+    }
+
+    @Test
+    public void concurrent_lookups_of_a_stale_rate_share_one_fetch() throws IOException {
+        try (StubTaxServer stub = new StubTaxServer(0)) {
+            stub.setRate("OH", "6.00");
+            stub.setDelayMillis(300);
+            TaxRateCache cache = new TaxRateCache(newClient(stub.getUrl(), 2000), false, 2000, 60, 0, LOCAL_RATES);
+
+            ExecutorService requestThreads = Executors.newFixedThreadPool(10);
+            try {
+                List<CompletableFuture<BigDecimal>> lookups = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    lookups.add(CompletableFuture.supplyAsync(() -> cache.getSalesTaxRate("OH"), requestThreads));
+                }
+                lookups.add(cache.getSalesTaxRateAsync("oh"));
+
+                for (CompletableFuture<BigDecimal> lookup : lookups) {
+                    Assert.assertEquals(new BigDecimal("0.0600"), lookup.join());
+                }
+                Assert.assertEquals(1, stub.getRequestCount());
+            } finally {
+                requestThreads.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void refresh_fetches_in_the_background_and_returns_at_once() throws IOException, InterruptedException {
+        try (StubTaxServer stub = new StubTaxServer(0)) {
+            for (String stateCode : TaxRateCache.STATE_CODES) {
+                stub.setRate(stateCode, "5.00");
+            }
+            stub.setRate("OH", "6.00");
+            stub.setDelayMillis(50);
+            TaxRateCache cache = new TaxRateCache(newClient(stub.getUrl(), 2000), false, 2000, 60, 60000,
+                    LOCAL_RATES);
+            try {
+                long start = System.currentTimeMillis();
+                cache.refresh();
+                Assert.assertTrue("Refresh should not wait for the tax service",
+                        System.currentTimeMillis() - start < 1000);
+
+                // OH is the 36th state fetched, one at a time
+                while (stub.getRequestCount() < 37) {
+                    Thread.sleep(10);
+                }
+                Assert.assertEquals(new BigDecimal("0.0600"), cache.getSalesTaxRate("OH"));
+            } finally {
+                cache.destroy();
+            }
+        }
+    }
+
+    @Test
+    public void parseRates_ignores_malformed_entries() {
+        Assert.assertTrue(TaxRateCache.parseRates("").isEmpty());
+        Assert.assertEquals(1, TaxRateCache.parseRates("OH:5.75,bogus").size());
+        Assert.assertEquals(new BigDecimal("0.0575"), TaxRateCache.parseRates("OH:5.75").get("OH"));
+    }
+
+    private static TaxClient newClient(String url) {
+        return newClient(url, 300);
+    }
+
+    private static TaxClient newClient(String url, int timeoutInMillis) {
+        return new TaxClient(new RestTemplateBuilder(), url, timeoutInMillis, 4, 5, 60000, 2);
+    }
+}
@@ -4,11 +4,15 @@ BEGIN TRANSACTION;
 -- *************************************************************************************************
 -- Drop all db objects in the proper order
 -- *************************************************************************************************
+DROP TABLE IF EXISTS order_item;
+DROP TABLE IF EXISTS orders;
 DROP TABLE IF EXISTS wishlist_item;
+DROP TABLE IF EXISTS catalog_version;
 DROP TABLE IF EXISTS cart_item;
 DROP TABLE IF EXISTS product;
 DROP TABLE IF EXISTS wishlist;
 DROP TABLE IF EXISTS users;
+DROP FUNCTION IF EXISTS bump_catalog_version;
 
 -- *************************************************************************************************
 -- Create the tables and constraints
@@ -38,6 +42,7 @@ CREATE TABLE product (
 	image_name varchar(200),
 	CONSTRAINT PK_product PRIMARY KEY (product_id)
 );
+CREATE INDEX IX_product_name_id ON product((LOWER(name) COLLATE "C"), product_id);
 
 -- wishlist
 CREATE TABLE wishlist (
@@ -47,6 +52,7 @@ CREATE TABLE wishlist (
 	CONSTRAINT PK_wishlist PRIMARY KEY (wishlist_id),
 	CONSTRAINT FK_wishlist_user FOREIGN KEY (user_id) REFERENCES users(user_id)
 );
+CREATE INDEX IX_wishlist_user ON wishlist(user_id);
 
 -- wishlist item
 CREATE TABLE wishlist_item (
@@ -71,5 +77,47 @@ CREATE TABLE cart_item (
 );
 CREATE UNIQUE INDEX IX_cart_item_user_product ON cart_item(user_id, product_id);
 
+-- orders (name is pluralized because 'order' is a SQL keyword)
+-- request_id is the client's key for the checkout request, so a retried checkout finds its order
+CREATE TABLE orders (
+	order_id SERIAL,
+	user_id int NOT NULL,
+	request_id varchar(64) NOT NULL,
+	created timestamp NOT NULL DEFAULT(CURRENT_TIMESTAMP),
+	state_code char(2) NULL,
+	subtotal decimal(10,2) NOT NULL,
+	tax_rate decimal(8,6) NOT NULL,
+	tax_amount decimal(10,2) NOT NULL,
+	total decimal(10,2) NOT NULL,
+	CONSTRAINT PK_orders PRIMARY KEY (order_id),
+	CONSTRAINT FK_orders_user FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
+CREATE UNIQUE INDEX IX_orders_user_request ON orders(user_id, request_id);
+
+-- order item (name and price are copied from the product when the order is placed)
+CREATE TABLE order_item (
+	order_item_id SERIAL,
+	order_id int NOT NULL,
+	product_id int NOT NULL,
+	product_name varchar(50) NOT NULL,
+	quantity int NOT NULL,
+	price decimal(8,2) NOT NULL,
+	CONSTRAINT PK_order_item PRIMARY KEY (order_item_id),
+	CONSTRAINT FK_order_item_orders FOREIGN KEY (order_id) REFERENCES orders(order_id),
+	CONSTRAINT FK_order_item_product FOREIGN KEY (product_id) REFERENCES product(product_id)
+);
+CREATE INDEX IX_order_item_order ON order_item(order_id);
+
+-- catalog version (bumped by every change to product, so app nodes know when to reload their catalog)
+CREATE TABLE catalog_version (
+	version bigint NOT NULL
+);
+INSERT INTO catalog_version (version) VALUES (0);
+
+CREATE FUNCTION bump_catalog_version() RETURNS trigger LANGUAGE plpgsql AS
+	'BEGIN UPDATE catalog_version SET version = version + 1; RETURN NULL; END;';
+CREATE TRIGGER TR_product_catalog_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product
+	FOR EACH STATEMENT EXECUTE PROCEDURE bump_catalog_version();
+
 
 COMMIT TRANSACTION;
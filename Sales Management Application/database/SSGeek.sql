@@ -14,6 +14,7 @@ CREATE TABLE product (
 	description varchar NOT NULL,
 	price decimal (10,2) NOT NULL,
 	image_name varchar(256),
+	sale_count int NOT NULL DEFAULT 0,
 	CONSTRAINT PK_product PRIMARY KEY (product_id)
 );
 
@@ -49,6 +50,26 @@ CREATE TABLE line_item (
 	CONSTRAINT FK_line_item_product FOREIGN KEY(product_id) REFERENCES product(product_id)
 );
 
+-- Sales reports filter sales by date and join line items to their sale
+CREATE INDEX IX_sale_sale_date ON sale (sale_date);
+CREATE INDEX IX_line_item_sale ON line_item (sale_id);
+CREATE INDEX IX_line_item_product ON line_item (product_id);
+
+-- product.sale_count is the number of line items for the product, kept up to date as line items are added
+-- and removed, so finding the products that were never sold doesn't have to look at line_item at all
+CREATE OR REPLACE FUNCTION line_item_added() RETURNS trigger AS
+'BEGIN UPDATE product SET sale_count = sale_count + 1 WHERE product_id = NEW.product_id; RETURN NULL; END;'
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION line_item_removed() RETURNS trigger AS
+'BEGIN UPDATE product SET sale_count = sale_count - 1 WHERE product_id = OLD.product_id; RETURN NULL; END;'
+LANGUAGE plpgsql;
+
+CREATE TRIGGER TR_line_item_added AFTER INSERT OR UPDATE OF product_id ON line_item
+	FOR EACH ROW EXECUTE FUNCTION line_item_added();
+CREATE TRIGGER TR_line_item_removed AFTER DELETE OR UPDATE OF product_id ON line_item
+	FOR EACH ROW EXECUTE FUNCTION line_item_removed();
+
 INSERT INTO product(name, description, price, image_name) VALUES
 -- 1
  ('Coffee Mug', 'Staying up late to take in the wonders of the solar system can make a geek a little sluggish in the morning. This awesome mug is just what you need to perk up in the morning with your caffeinatened beverage of choice!', 9.99, 'ssg_mug.png' ),
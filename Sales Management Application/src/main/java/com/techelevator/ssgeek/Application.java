@@ -2,7 +2,15 @@ package com.techelevator.ssgeek;
 
 import com.techelevator.ssgeek.dao.*;
 import com.techelevator.util.SystemInOutConsole;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
 
 /**
  * Application is the class that launches the Solar System Geek Administrator by creating
@@ -12,28 +20,34 @@ import org.apache.commons.dbcp2.BasicDataSource;
 
 public class Application {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Create the datasource used by all the DAOs
         BasicDataSource dataSource = new BasicDataSource();
         dataSource.setUrl("jdbc:postgresql://localhost:5432/SSGeek");
         dataSource.setUsername("postgres");
         dataSource.setPassword("postgres1");
 
+        // Every DAO call is timed; run with -Dssgeek.metrics.port=n to scrape the timers at localhost:n/metrics
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Gauge.builder("db.pool.active", dataSource, BasicDataSource::getNumActive).register(meterRegistry);
+        Gauge.builder("db.pool.idle", dataSource, BasicDataSource::getNumIdle).register(meterRegistry);
+        Integer metricsPort = Integer.getInteger("ssgeek.metrics.port");
+        HttpServer metricsServer = metricsPort != null ? PrometheusEndpoint.start(metricsPort, meterRegistry) : null;
+
+        // Deletes that touch more than one table run in a transaction of their own
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
         // Controller expects the DAOs it needs to be "injected" in the constructor.
         // Create the DAOs needed by the controller.
         //*****************************************************************************************
         // TODO: When you implement a new DAO, create an instance of it here, replacing the NULL
-<<<<<<< HEAD
-        CustomerDao customerDao = new JdbcCustomerDao(dataSource);
-        ProductDao productDao = new JdbcProductDao(dataSource);
-        SaleDao saleDao = new JdbcSaleDao(dataSource);
-        LineItemDao lineItemDao = new JdbcLineItemDao(dataSource);
-=======
-        CustomerDao customerDao = null;
-        ProductDao productDao = null;
-        SaleDao saleDao = null;
-        LineItemDao lineItemDao = null;
->>>>>>> 352670ff045be3e953aef95db149d8f67b239903
+        CustomerDao customerDao = TimedDaos.timed(CustomerDao.class, new JdbcCustomerDao(dataSource), meterRegistry);
+        // Run with -Dssgeek.products.use-sale-count=true to find unsold products by product.sale_count
+        ProductDao productDao = TimedDaos.timed(ProductDao.class, new JdbcProductDao(dataSource, transactionTemplate,
+                Boolean.getBoolean("ssgeek.products.use-sale-count")), meterRegistry);
+        SaleDao saleDao = TimedDaos.timed(SaleDao.class, new JdbcSaleDao(dataSource, transactionTemplate), meterRegistry);
+        SaleDetailsDao saleDetailsDao = TimedDaos.timed(SaleDetailsDao.class, new JdbcSaleDetailsDao(dataSource), meterRegistry);
+        SalesReportDao salesReportDao = TimedDaos.timed(SalesReportDao.class, new JdbcSalesReportDao(dataSource), meterRegistry);
         //*****************************************************************************************
 
         // Create the basic i/o mechanism (the console)
@@ -41,7 +55,14 @@ public class Application {
 
         // The controller manages the program flow. Create a control and call its run() method to start the menu loop.
         SSGeekAdminController controller =
-                new SSGeekAdminController(systemInOutConsole, customerDao, productDao, saleDao, lineItemDao);
-        controller.run();
+                new SSGeekAdminController(systemInOutConsole, customerDao, productDao, saleDao, saleDetailsDao,
+                        salesReportDao);
+        try {
+            controller.run();
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.stop(0);
+            }
+        }
     }
 }
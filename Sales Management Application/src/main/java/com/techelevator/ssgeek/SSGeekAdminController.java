@@ -6,6 +6,7 @@ import com.techelevator.ssgeek.model.*;
 import com.techelevator.util.BasicConsole;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -15,6 +16,9 @@ import java.util.List;
 
 public class SSGeekAdminController {
 
+    // How many customers the top customers report lists
+    private static final int TOP_CUSTOMERS = 10;
+
     // The view manages all the user interaction, inputs and outputs.
     private final SSGeekAdminView view;
 
@@ -22,14 +26,17 @@ public class SSGeekAdminController {
     private ProductDao productDao;
     private CustomerDao customerDao;
     private SaleDao saleDao;
-    private LineItemDao lineItemDao;
+    private SaleDetailsDao saleDetailsDao;
+    private SalesReportDao salesReportDao;
 
-    public SSGeekAdminController(BasicConsole console, CustomerDao customerDao, ProductDao productDao, SaleDao saleDao, LineItemDao lineItemDao) {
+    public SSGeekAdminController(BasicConsole console, CustomerDao customerDao, ProductDao productDao, SaleDao saleDao,
+                                 SaleDetailsDao saleDetailsDao, SalesReportDao salesReportDao) {
         view = new SSGeekAdminView(console);
         this.productDao = productDao;
         this.customerDao = customerDao;
         this.saleDao = saleDao;
-        this.lineItemDao = lineItemDao;
+        this.saleDetailsDao = saleDetailsDao;
+        this.salesReportDao = salesReportDao;
     }
 
     /**
@@ -47,8 +54,9 @@ public class SSGeekAdminController {
         final String CUSTOMER_MENU = "Customer admin menu";
         final String PRODUCT_MENU = "Product admin menu";
         final String SALES_MENU = "Sales admin menu";
+        final String REPORTS_MENU = "Reports menu";
         final String EXIT = "Exit the program";
-        final String[] MENU_OPTIONS = {CUSTOMER_MENU, PRODUCT_MENU, SALES_MENU, EXIT};
+        final String[] MENU_OPTIONS = {CUSTOMER_MENU, PRODUCT_MENU, SALES_MENU, REPORTS_MENU, EXIT};
 
         boolean finished = false;
 
@@ -66,6 +74,9 @@ public class SSGeekAdminController {
                 case SALES_MENU:
                     displaySalesMenu();
                     break;
+                case REPORTS_MENU:
+                    displayReportsMenu();
+                    break;
                 case EXIT:
                     // Set finished to true so the loop exits.
                     finished = true;
@@ -172,9 +183,10 @@ public class SSGeekAdminController {
         final String SALES_LIST_CUSTOMER = "List sales orders for a customer";
         final String SALES_LIST_PRODUCT = "List sales orders for a product";
         final String SALES_SHIP = "Ship a sales order";
+        final String SALES_SHIP_ALL = "Ship all unshipped sales orders";
         final String SALES_DELETE = "Delete a sales order";
         final String DONE = "Main menu";
-        final String[] MENU_OPTIONS = {SALES_LIST_CUSTOMER, SALES_LIST_PRODUCT, /* SALES_DETAILS, */SALES_SHIP, SALES_DELETE, DONE};
+        final String[] MENU_OPTIONS = {SALES_LIST_CUSTOMER, SALES_LIST_PRODUCT, /* SALES_DETAILS, */SALES_SHIP, SALES_SHIP_ALL, SALES_DELETE, DONE};
 
         boolean finished = false;
 
@@ -192,6 +204,9 @@ public class SSGeekAdminController {
                     case SALES_SHIP:
                         updateSaleShipDate();
                         break;
+                    case SALES_SHIP_ALL:
+                        shipAllSales();
+                        break;
                     case SALES_DELETE:
                         deleteSale();
                         break;
@@ -207,6 +222,57 @@ public class SSGeekAdminController {
         }
     }
 
+    /**
+     * A loop which displays the reports sub-menu, and responds to the user's selection
+     */
+    private void displayReportsMenu() {
+        // Menu options
+        final String REPORT_PRODUCT = "Revenue by product";
+        final String REPORT_CUSTOMER = "Top customers";
+        final String REPORT_STATE = "Revenue by state";
+        final String REPORT_DAY = "Revenue by day";
+        final String REPORT_WEEK = "Revenue by week";
+        final String REPORT_MONTH = "Revenue by month";
+        final String DONE = "Main menu";
+        final String[] MENU_OPTIONS = {REPORT_PRODUCT, REPORT_CUSTOMER, REPORT_STATE, REPORT_DAY, REPORT_WEEK, REPORT_MONTH, DONE};
+
+        boolean finished = false;
+
+        // The menu loop
+        while (!finished) {
+            String selection = view.getMenuSelection("Reports menu", MENU_OPTIONS);
+            try {
+                switch (selection) {
+                    case REPORT_PRODUCT:
+                        reportRevenueByProduct();
+                        break;
+                    case REPORT_CUSTOMER:
+                        reportTopCustomers();
+                        break;
+                    case REPORT_STATE:
+                        reportRevenueByState();
+                        break;
+                    case REPORT_DAY:
+                        reportRevenueByPeriod(ReportPeriod.DAY);
+                        break;
+                    case REPORT_WEEK:
+                        reportRevenueByPeriod(ReportPeriod.WEEK);
+                        break;
+                    case REPORT_MONTH:
+                        reportRevenueByPeriod(ReportPeriod.MONTH);
+                        break;
+                    case DONE:
+                        // Set finished to true so the loop exits.
+                        finished = true;
+                        break;
+                }
+            }
+            catch (DaoException e) {
+                view.printErrorMessage("DAO error - " + e.getMessage());
+            }
+        }
+    }
+
     //*******************************************************
     //region Customer menu actions
     //*******************************************************
@@ -414,17 +480,21 @@ public class SSGeekAdminController {
 
     private void displaySale(Sale sale) {
         // Make sure we have the appropriate DAOs
-        if (lineItemDao == null) {
-            view.printErrorMessage("You must implement LineItemDao and pass it into the controller for this option to work.");
+        if (saleDetailsDao == null) {
+            view.printErrorMessage("You must implement SaleDetailsDao and pass it into the controller for this option to work.");
             return;
         }
 
-        // Get customer and line-item information
-        List<LineItem> lineItems = lineItemDao.getLineItemsBySaleId(sale.getSaleId());
-        Customer customer = customerDao.getCustomerById(sale.getCustomerId());
+        // Get the sale with its customer and line-item information in one query
+        SaleDetails saleDetails = saleDetailsDao.getSaleDetailsById(sale.getSaleId());
+        if (saleDetails == null) {
+            // Deleted since the list was shown
+            view.printErrorMessage(String.format("Sales order %d no longer exists!", sale.getSaleId()));
+            return;
+        }
 
         // Show all details to the user
-        view.printSaleDetail(sale, lineItems, customer);
+        view.printSaleDetail(saleDetails.getSale(), saleDetails.getLineItems(), saleDetails.getCustomer());
     }
 
     private void listSalesForCustomer() {
@@ -521,14 +591,39 @@ public class SSGeekAdminController {
             return;
         }
 
-        // Sell the ship date to today
-        sale.setShipDate(LocalDate.now());
+        // Set the ship date to today, unless it was shipped since the list was shown
+        List<Integer> shippedSaleIds = saleDao.shipSales(Collections.singletonList(sale.getSaleId()), LocalDate.now());
+
+        // Inform the user
+        if (shippedSaleIds.isEmpty()) {
+            view.printErrorMessage(String.format("Sales order %d has already been shipped!", sale.getSaleId()));
+        } else {
+            view.printMessage(String.format("Sales order %d has been shipped", sale.getSaleId()));
+        }
+    }
+
+    private void shipAllSales() {
+        // Make sure we have the appropriate DAOs
+        if (saleDao == null) {
+            view.printErrorMessage("You must implement SaleDao and pass it into the controller for this option to work.");
+            return;
+        }
+
+        // Ask which sales to ship, by default everything sold up to today
+        LocalDate soldOnOrBefore = view.promptForDate("Ship unshipped sales made on or before", LocalDate.now());
+
+        // Prompt the user for confirmation
+        boolean isConfirmed = view.promptForYesNo(String.format("Are you sure you want to SHIP every unshipped sale made on or before %s?", soldOnOrBefore));
+        if (!isConfirmed) {
+            // User cancelled
+            return;
+        }
 
-        // Update the sale in the database
-        saleDao.updateSale(sale);
+        // Ship them all in one update
+        List<Integer> shippedSaleIds = saleDao.shipUnshippedSales(soldOnOrBefore, LocalDate.now());
 
         // Inform the user
-        view.printMessage(String.format("Sales order %d has been shipped", sale.getSaleId()));
+        view.printMessage(String.format("%d sales orders have been shipped", shippedSaleIds.size()));
     }
 
     private void deleteSale() {
@@ -573,5 +668,68 @@ public class SSGeekAdminController {
     //endregion Sales menu actions
     //*******************************************************
 
+    //*******************************************************
+    //region Reports menu actions
+    //*******************************************************
+
+    private void reportRevenueByProduct() {
+        // Make sure we have the appropriate DAOs
+        if (salesReportDao == null) {
+            view.printErrorMessage("You must implement SalesReportDao and pass it into the controller for this option to work.");
+            return;
+        }
+        // Reports default to this month so far
+        LocalDate from = view.promptForDate("From", LocalDate.now().withDayOfMonth(1));
+        LocalDate to = view.promptForDate("To", LocalDate.now());
+
+        view.printSalesReport(String.format("Revenue by product, %s to %s", from, to), "Product",
+                salesReportDao.getRevenueByProduct(from, to));
+    }
+
+    private void reportTopCustomers() {
+        // Make sure we have the appropriate DAOs
+        if (salesReportDao == null) {
+            view.printErrorMessage("You must implement SalesReportDao and pass it into the controller for this option to work.");
+            return;
+        }
+        LocalDate from = view.promptForDate("From", LocalDate.now().withDayOfMonth(1));
+        LocalDate to = view.promptForDate("To", LocalDate.now());
+
+        view.printSalesReport(String.format("Top %d customers, %s to %s", TOP_CUSTOMERS, from, to), "Customer",
+                salesReportDao.getTopCustomers(from, to, TOP_CUSTOMERS));
+    }
+
+    private void reportRevenueByState() {
+        // Make sure we have the appropriate DAOs
+        if (salesReportDao == null) {
+            view.printErrorMessage("You must implement SalesReportDao and pass it into the controller for this option to work.");
+            return;
+        }
+        LocalDate from = view.promptForDate("From", LocalDate.now().withDayOfMonth(1));
+        LocalDate to = view.promptForDate("To", LocalDate.now());
+
+        view.printSalesReport(String.format("Revenue by state, %s to %s", from, to), "State",
+                salesReportDao.getRevenueByState(from, to));
+    }
+
+    private void reportRevenueByPeriod(ReportPeriod period) {
+        // Make sure we have the appropriate DAOs
+        if (salesReportDao == null) {
+            view.printErrorMessage("You must implement SalesReportDao and pass it into the controller for this option to work.");
+            return;
+        }
+        // Periods default to the last year, which gives a useful number of months
+        LocalDate from = view.promptForDate("From", LocalDate.now().minusYears(1).plusDays(1));
+        LocalDate to = view.promptForDate("To", LocalDate.now());
+
+        String periodName = period.getField();
+        view.printSalesReport(String.format("Revenue by %s, %s to %s", periodName, from, to),
+                periodName.substring(0, 1).toUpperCase() + periodName.substring(1) + " starting",
+                salesReportDao.getRevenueByPeriod(period, from, to));
+    }
+    //*******************************************************
+    //endregion Reports menu actions
+    //*******************************************************
+
 
 }
@@ -5,6 +5,7 @@ import com.techelevator.ssgeek.model.*;
 
 import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.List;
@@ -170,6 +171,25 @@ public class SSGeekAdminView {
             printMessage(s);
         }
     }
+
+    public void printSalesReport(String title, String labelHeading, List<SalesReportLine> report) {
+        printBanner(title);
+        String heading1 = String.format("%-40s        Revenue     Units  Orders", labelHeading);
+        String heading2 = "========================================  ==============  ========  ======";
+        String formatString = "%-40s  %14s  %8d  %6d";
+        NumberFormat moneyFormat = NumberFormat.getCurrencyInstance();
+        printMessage(heading1);
+        printMessage(heading2);
+        for (SalesReportLine line : report) {
+            String label = line.getLabel();
+            if (label.length() > 40) {
+                label = label.substring(0, 37) + "...";
+            }
+            printMessage(String.format(formatString, label, moneyFormat.format(line.getRevenue()),
+                    line.getUnits(), line.getOrderCount()));
+        }
+        console.pauseOutput();
+    }
     // **************************************************************
     // endregion Print lists of objects to the console
     // **************************************************************
@@ -397,6 +417,11 @@ public class SSGeekAdminView {
         return promptForString("Image name", false, defaultValue);
     }
 
+    public LocalDate promptForDate(String prompt, LocalDate defaultValue) {
+        LocalDate entry = console.promptForLocalDate(prompt + " [" + defaultValue + "] ");
+        return entry != null ? entry : defaultValue;
+    }
+
     private String promptWithDefault(String prompt, Object defaultValue) {
         if (defaultValue != null) {
             return prompt + "[" + defaultValue.toString() + "]: ";
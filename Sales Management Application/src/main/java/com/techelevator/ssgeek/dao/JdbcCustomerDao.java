@@ -5,10 +5,10 @@ import com.techelevator.ssgeek.model.Customer;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 import javax.sql.DataSource;
-import java.util.ArrayList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 public class JdbcCustomerDao implements CustomerDao {
@@ -19,17 +19,14 @@ public class JdbcCustomerDao implements CustomerDao {
     private final JdbcTemplate jdbcTemplate;
 
     public JdbcCustomerDao(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate = StreamingQueries.newJdbcTemplate(dataSource);
     }
 
     public Customer getCustomerById(int id) {
         Customer customer = null;
         String sql = CUSTOMER_SELECT + " WHERE c.customer_id = ? ORDER BY c.customer_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, id);
-            if (results.next()) {
-                customer = mapRowToCustomer(results);
-            }
+            customer = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToCustomer, id);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -38,14 +35,10 @@ public class JdbcCustomerDao implements CustomerDao {
 
     @Override
     public List<Customer> getCustomers() {
-        List<Customer> allCustomers = new ArrayList<>();
+        List<Customer> allCustomers;
         String sql = CUSTOMER_SELECT;
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql);
-            while (results.next()) {
-                Customer customer = mapRowToCustomer(results);
-                allCustomers.add(customer);
-            }
+            allCustomers = jdbcTemplate.query(sql, this::mapRowToCustomer);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -91,7 +84,7 @@ public class JdbcCustomerDao implements CustomerDao {
         return customer;
     }
 
-    private Customer mapRowToCustomer(SqlRowSet results) {
+    private Customer mapRowToCustomer(ResultSet results, int rowNum) throws SQLException {
         Customer customer = new Customer();
         customer.setCustomerId(results.getInt("customer_id"));
         customer.setName(results.getString("name"));
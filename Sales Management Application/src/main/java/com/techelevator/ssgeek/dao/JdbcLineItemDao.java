@@ -4,10 +4,10 @@ import com.techelevator.ssgeek.exception.DaoException;
 import com.techelevator.ssgeek.model.LineItem;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 import javax.sql.DataSource;
-import java.util.ArrayList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 public class JdbcLineItemDao implements LineItemDao {
@@ -19,26 +19,22 @@ public class JdbcLineItemDao implements LineItemDao {
     private final JdbcTemplate jdbcTemplate;
 
     public JdbcLineItemDao(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate = StreamingQueries.newJdbcTemplate(dataSource);
     }
 
     @Override
     public List<LineItem> getLineItemsBySaleId(int saleId) {
-        List<LineItem> lineItems = new ArrayList<>();
-        String sql = LINE_ITEM_SELECT + " WHERE l.sale_id = ? ORDER BY l.sale_id";
+        List<LineItem> lineItems;
+        String sql = LINE_ITEM_SELECT + " WHERE l.sale_id = ? ORDER BY l.line_item_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, saleId);
-            while (results.next()) {
-                LineItem lineItem = mapRowToLineItem(results);
-                lineItems.add(lineItem);
-            }
+            lineItems = jdbcTemplate.query(sql, this::mapRowToLineItem, saleId);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
         return lineItems;
     }
 
-    private LineItem mapRowToLineItem(SqlRowSet results) {
+    LineItem mapRowToLineItem(ResultSet results, int rowNum) throws SQLException {
         LineItem lineItem = new LineItem();
         lineItem.setLineItemId(results.getInt("line_item_id"));
         lineItem.setSaleId(results.getInt("sale_id"));
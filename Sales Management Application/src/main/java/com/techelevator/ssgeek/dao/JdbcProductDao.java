@@ -5,10 +5,15 @@ import com.techelevator.ssgeek.model.Product;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.sql.DataSource;
-import java.util.ArrayList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class JdbcProductDao implements ProductDao {
@@ -17,9 +22,23 @@ public class JdbcProductDao implements ProductDao {
             "p.price, p.image_name FROM product p";
 
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean useSaleCount;
 
     public JdbcProductDao(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this(dataSource, null, false);
+    }
+
+    /**
+     * See Transactions for when transactionTemplate may be null.
+     *
+     * With useSaleCount, products with no sales are found by the sale_count column the line_item triggers
+     * maintain, instead of by looking for their line items.
+     */
+    public JdbcProductDao(DataSource dataSource, TransactionTemplate transactionTemplate, boolean useSaleCount) {
+        this.jdbcTemplate = StreamingQueries.newJdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.useSaleCount = useSaleCount;
     }
 
     @Override
@@ -27,10 +46,7 @@ public class JdbcProductDao implements ProductDao {
         Product product = null;
         String sql = PRODUCT_SELECT + " WHERE p.product_id = ?";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, productId);
-            if (results.next()) {
-                product = mapRowToProduct(results);
-            }
+            product = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToProduct, productId);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -39,14 +55,10 @@ public class JdbcProductDao implements ProductDao {
 
     @Override
     public List<Product> getProducts() {
-        List<Product> allProducts = new ArrayList<>();
+        List<Product> allProducts;
         String sql = PRODUCT_SELECT + " ORDER BY product_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql);
-            while (results.next()) {
-                Product product = mapRowToProduct(results);
-                allProducts.add(product);
-            }
+            allProducts = jdbcTemplate.query(sql, this::mapRowToProduct);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -55,14 +67,13 @@ public class JdbcProductDao implements ProductDao {
 
     @Override
     public List<Product> getProductsWithNoSales() {
-        List<Product> productsWithNoSales = new ArrayList<>();
-        String sql = PRODUCT_SELECT + " WHERE product_id NOT IN (SELECT product_id FROM line_item)";
+        List<Product> productsWithNoSales;
+        String sql = PRODUCT_SELECT + (useSaleCount
+                ? " WHERE p.sale_count = 0"
+                : " WHERE NOT EXISTS (SELECT 1 FROM line_item l WHERE l.product_id = p.product_id)") +
+                " ORDER BY p.product_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql);
-            while (results.next()) {
-                Product product = mapRowToProduct(results);
-                productsWithNoSales.add(product);
-            }
+            productsWithNoSales = jdbcTemplate.query(sql, this::mapRowToProduct);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -108,21 +119,33 @@ public class JdbcProductDao implements ProductDao {
 
     @Override
     public int deleteProductById(int productId) {
+        return deleteProductsByIds(Collections.singletonList(productId));
+    }
+
+    @Override
+    public int deleteProductsByIds(Collection<Integer> productIds) {
         int numberOfRows = 0;
-        String deleteLineItemSql = "DELETE FROM line_item WHERE product_id = ?";
-        String deleteProductSql = "DELETE FROM product WHERE product_id = ?";
+        String deleteLineItemSql = "DELETE FROM line_item WHERE product_id = ANY(?)";
+        String deleteProductSql = "DELETE FROM product WHERE product_id = ANY(?)";
+        // Two statements however many products there are
+        PreparedStatementSetter productIdsSetter =
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("int", productIds.toArray()));
         try {
-            jdbcTemplate.update(deleteLineItemSql, productId);
-            numberOfRows = jdbcTemplate.update(deleteProductSql, productId);
+            numberOfRows = Transactions.inTransaction(transactionTemplate, () -> {
+                jdbcTemplate.update(deleteLineItemSql, productIdsSetter);
+                return jdbcTemplate.update(deleteProductSql, productIdsSetter);
+            });
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
+        } catch (CannotCreateTransactionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
         } catch (DataIntegrityViolationException e) {
             throw new DaoException("Data integrity violation", e);
         }
         return numberOfRows;
     }
 
-    private Product mapRowToProduct(SqlRowSet results) {
+    Product mapRowToProduct(ResultSet results, int rowNum) throws SQLException {
         Product product = new Product();
         product.setProductId(results.getInt("product_id"));
         product.setName(results.getString("name"));
@@ -6,10 +6,16 @@ import com.techelevator.ssgeek.model.Sale;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.sql.DataSource;
-import java.util.ArrayList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class JdbcSaleDao implements SaleDao {
@@ -19,9 +25,16 @@ public class JdbcSaleDao implements SaleDao {
             "ON c.customer_id = s.customer_id";
 
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     public JdbcSaleDao(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this(dataSource, null);
+    }
+
+    // See Transactions for when transactionTemplate may be null
+    public JdbcSaleDao(DataSource dataSource, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = StreamingQueries.newJdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -29,10 +42,7 @@ public class JdbcSaleDao implements SaleDao {
         Sale sale = null;
         String sql = SALE_SELECT + " WHERE sale_id = ?";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, saleId);
-            if (results.next()) {
-                sale = mapRowToSale(results);
-            }
+            sale = StreamingQueries.queryForFirst(jdbcTemplate, sql, this::mapRowToSale, saleId);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -41,14 +51,10 @@ public class JdbcSaleDao implements SaleDao {
 
     @Override
     public List<Sale> getUnshippedSales() {
-        List<Sale> unshippedSales = new ArrayList<>();
+        List<Sale> unshippedSales;
         String sql = SALE_SELECT + " WHERE ship_date IS NULL ORDER BY sale_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql);
-            while (results.next()) {
-                Sale sale = mapRowToSale(results);
-                unshippedSales.add(sale);
-            }
+            unshippedSales = jdbcTemplate.query(sql, this::mapRowToSale);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -57,14 +63,10 @@ public class JdbcSaleDao implements SaleDao {
 
     @Override
     public List<Sale> getSalesByCustomerId(int customerId) {
-        List<Sale> salesByCustomerId = new ArrayList<>();
+        List<Sale> salesByCustomerId;
         String sql = SALE_SELECT + " WHERE s.customer_id = ? ORDER BY sale_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, customerId);
-            while (results.next()) {
-                Sale sale = mapRowToSale(results);
-                salesByCustomerId.add(sale);
-            }
+            salesByCustomerId = jdbcTemplate.query(sql, this::mapRowToSale, customerId);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -73,15 +75,11 @@ public class JdbcSaleDao implements SaleDao {
 
     @Override
     public List<Sale> getSalesByProductId(int productId) {
-        List<Sale> salesByProductId = new ArrayList<>();
+        List<Sale> salesByProductId;
         String sql = SALE_SELECT + " JOIN line_item l ON l.sale_id = s.sale_id " +
                 "WHERE l.product_id = ? ORDER BY s.sale_id";
         try {
-            SqlRowSet results = jdbcTemplate.queryForRowSet(sql, productId);
-            while (results.next()) {
-                Sale sale = mapRowToSale(results);
-                salesByProductId.add(sale);
-            }
+            salesByProductId = jdbcTemplate.query(sql, this::mapRowToSale, productId);
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
         }
@@ -134,23 +132,70 @@ public class JdbcSaleDao implements SaleDao {
         return sale;
     }
 
+    @Override
+    public List<Integer> shipSales(Collection<Integer> saleIds, LocalDate shipDate) {
+        List<Integer> shippedSaleIds;
+        String sql = "WITH shipped AS (UPDATE sale SET ship_date = ? " +
+                "WHERE sale_id = ANY(?) AND ship_date IS NULL RETURNING sale_id) " +
+                "SELECT sale_id FROM shipped ORDER BY sale_id";
+        try {
+            shippedSaleIds = jdbcTemplate.query(sql, ps -> {
+                ps.setObject(1, shipDate);
+                ps.setArray(2, ps.getConnection().createArrayOf("int", saleIds.toArray()));
+            }, (results, rowNum) -> results.getInt("sale_id"));
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return shippedSaleIds;
+    }
+
+    @Override
+    public List<Integer> shipUnshippedSales(LocalDate soldOnOrBefore, LocalDate shipDate) {
+        List<Integer> shippedSaleIds;
+        String sql = "WITH shipped AS (UPDATE sale SET ship_date = ? " +
+                "WHERE sale_date <= ? AND ship_date IS NULL RETURNING sale_id) " +
+                "SELECT sale_id FROM shipped ORDER BY sale_id";
+        try {
+            shippedSaleIds = jdbcTemplate.queryForList(sql, Integer.class, shipDate, soldOnOrBefore);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        } catch (DataIntegrityViolationException e) {
+            throw new DaoException("Data integrity violation", e);
+        }
+        return shippedSaleIds;
+    }
+
     @Override
     public int deleteSaleById(int saleId) {
+        return deleteSalesByIds(Collections.singletonList(saleId));
+    }
+
+    @Override
+    public int deleteSalesByIds(Collection<Integer> saleIds) {
         int numberOfRows = 0;
-        String deleteLineItemSql = "DELETE FROM line_item WHERE sale_id = ?";
-        String deleteSaleSql = "DELETE FROM sale WHERE sale_id = ?";
+        String deleteLineItemSql = "DELETE FROM line_item WHERE sale_id = ANY(?)";
+        String deleteSaleSql = "DELETE FROM sale WHERE sale_id = ANY(?)";
+        // Two statements however many sales there are
+        PreparedStatementSetter saleIdsSetter =
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("int", saleIds.toArray()));
         try {
-            jdbcTemplate.update(deleteLineItemSql, saleId);
-            numberOfRows = jdbcTemplate.update(deleteSaleSql, saleId);
+            numberOfRows = Transactions.inTransaction(transactionTemplate, () -> {
+                jdbcTemplate.update(deleteLineItemSql, saleIdsSetter);
+                return jdbcTemplate.update(deleteSaleSql, saleIdsSetter);
+            });
         } catch (CannotGetJdbcConnectionException e) {
             throw new DaoException("Unable to connect to server or database", e);
+        } catch (CannotCreateTransactionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
         } catch (DataIntegrityViolationException e) {
             throw new DaoException("Data integrity violation", e);
         }
         return numberOfRows;
     }
 
-    private Sale mapRowToSale(SqlRowSet results) {
+    Sale mapRowToSale(ResultSet results, int rowNum) throws SQLException {
         Sale sale = new Sale();
         sale.setSaleId(results.getInt("sale_id"));
         sale.setCustomerId(results.getInt("customer_id"));
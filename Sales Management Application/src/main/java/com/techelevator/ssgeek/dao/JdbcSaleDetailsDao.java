@@ -0,0 +1,119 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.exception.DaoException;
+import com.techelevator.ssgeek.model.Customer;
+import com.techelevator.ssgeek.model.LineItem;
+import com.techelevator.ssgeek.model.Sale;
+import com.techelevator.ssgeek.model.SaleDetails;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads sales with their customer and line items in one joined query, one row per line item, instead of
+ * one query for the sale, one for the customer and one for the line items.
+ */
+public class JdbcSaleDetailsDao implements SaleDetailsDao {
+
+    private final String SALE_DETAILS_SELECT = "SELECT s.sale_id, s.customer_id, s.sale_date, s.ship_date, " +
+            "c.name, c.street_address1, c.street_address2, c.city, c.state, c.zip_code, " +
+            "l.line_item_id, l.product_id, l.quantity, p.name AS product_name, p.price " +
+            "FROM sale s JOIN customer c ON c.customer_id = s.customer_id " +
+            "LEFT JOIN line_item l ON l.sale_id = s.sale_id " +
+            "LEFT JOIN product p ON p.product_id = l.product_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The rows come ordered by sale, with a single row with null line item columns for a sale without line items
+    private final ResultSetExtractor<List<SaleDetails>> saleDetailsExtractor = this::mapRowsToSaleDetails;
+
+    public JdbcSaleDetailsDao(DataSource dataSource) {
+        this.jdbcTemplate = StreamingQueries.newJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public SaleDetails getSaleDetailsById(int saleId) {
+        List<SaleDetails> saleDetails;
+        String sql = SALE_DETAILS_SELECT + " WHERE s.sale_id = ? ORDER BY l.line_item_id";
+        try {
+            saleDetails = jdbcTemplate.query(sql, saleDetailsExtractor, saleId);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return saleDetails.isEmpty() ? null : saleDetails.get(0);
+    }
+
+    @Override
+    public List<SaleDetails> getSaleDetailsBySaleIds(Collection<Integer> saleIds) {
+        List<SaleDetails> saleDetails;
+        String sql = SALE_DETAILS_SELECT + " WHERE s.sale_id = ANY(?) ORDER BY s.sale_id, l.line_item_id";
+        try {
+            saleDetails = jdbcTemplate.query(sql,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("int", saleIds.toArray())),
+                    saleDetailsExtractor);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return saleDetails;
+    }
+
+    private List<SaleDetails> mapRowsToSaleDetails(ResultSet results) throws SQLException {
+        List<SaleDetails> saleDetails = new ArrayList<>();
+        SaleDetails current = null;
+        while (results.next()) {
+            int saleId = results.getInt("sale_id");
+            if (current == null || current.getSale().getSaleId() != saleId) {
+                current = new SaleDetails(mapRowToSale(results), mapRowToCustomer(results), new ArrayList<>());
+                saleDetails.add(current);
+            }
+            results.getInt("line_item_id");
+            if (!results.wasNull()) {
+                current.getLineItems().add(mapRowToLineItem(results));
+            }
+        }
+        return saleDetails;
+    }
+
+    private Sale mapRowToSale(ResultSet results) throws SQLException {
+        Sale sale = new Sale();
+        sale.setSaleId(results.getInt("sale_id"));
+        sale.setCustomerId(results.getInt("customer_id"));
+        sale.setSaleDate(results.getDate("sale_date").toLocalDate());
+        if (results.getDate("ship_date") != null) {
+            sale.setShipDate(results.getDate("ship_date").toLocalDate());
+        }
+        sale.setCustomerName(results.getString("name"));
+        return sale;
+    }
+
+    private Customer mapRowToCustomer(ResultSet results) throws SQLException {
+        Customer customer = new Customer();
+        customer.setCustomerId(results.getInt("customer_id"));
+        customer.setName(results.getString("name"));
+        customer.setStreetAddress1(results.getString("street_address1"));
+        customer.setStreetAddress2(results.getString("street_address2"));
+        customer.setCity(results.getString("city"));
+        customer.setState(results.getString("state"));
+        customer.setZipCode(results.getString("zip_code"));
+        return customer;
+    }
+
+    private LineItem mapRowToLineItem(ResultSet results) throws SQLException {
+        LineItem lineItem = new LineItem();
+        lineItem.setLineItemId(results.getInt("line_item_id"));
+        lineItem.setSaleId(results.getInt("sale_id"));
+        lineItem.setProductId(results.getInt("product_id"));
+        lineItem.setQuantity(results.getInt("quantity"));
+        lineItem.setProductName(results.getString("product_name"));
+        lineItem.setPrice(results.getBigDecimal("price"));
+        return lineItem;
+    }
+
+}
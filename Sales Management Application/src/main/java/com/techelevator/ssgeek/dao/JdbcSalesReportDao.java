@@ -0,0 +1,84 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.exception.DaoException;
+import com.techelevator.ssgeek.model.ReportPeriod;
+import com.techelevator.ssgeek.model.SalesReportLine;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Every report is a single GROUP BY query, so the database does the adding up and only one row per group
+ * comes back, however many line items there are.
+ */
+public class JdbcSalesReportDao implements SalesReportDao {
+
+    private final String REPORT_TOTALS = "SUM(l.quantity * p.price) AS revenue, SUM(l.quantity) AS units, " +
+            "COUNT(DISTINCT s.sale_id) AS order_count";
+
+    private final String REPORT_FROM = " FROM sale s JOIN line_item l ON l.sale_id = s.sale_id " +
+            "JOIN product p ON p.product_id = l.product_id";
+
+    private final String REPORT_WHERE = " WHERE s.sale_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSalesReportDao(DataSource dataSource) {
+        this.jdbcTemplate = StreamingQueries.newJdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<SalesReportLine> getRevenueByProduct(LocalDate from, LocalDate to) {
+        String sql = "SELECT p.name AS label, " + REPORT_TOTALS + REPORT_FROM + REPORT_WHERE +
+                " GROUP BY p.product_id, p.name ORDER BY revenue DESC, p.name";
+        return queryForReport(sql, from, to);
+    }
+
+    @Override
+    public List<SalesReportLine> getTopCustomers(LocalDate from, LocalDate to, int limit) {
+        String sql = "SELECT c.name AS label, " + REPORT_TOTALS + REPORT_FROM +
+                " JOIN customer c ON c.customer_id = s.customer_id" + REPORT_WHERE +
+                " GROUP BY c.customer_id, c.name ORDER BY revenue DESC, c.name LIMIT ?";
+        return queryForReport(sql, from, to, limit);
+    }
+
+    @Override
+    public List<SalesReportLine> getRevenueByState(LocalDate from, LocalDate to) {
+        String sql = "SELECT c.state AS label, " + REPORT_TOTALS + REPORT_FROM +
+                " JOIN customer c ON c.customer_id = s.customer_id" + REPORT_WHERE +
+                " GROUP BY c.state ORDER BY revenue DESC, c.state";
+        return queryForReport(sql, from, to);
+    }
+
+    @Override
+    public List<SalesReportLine> getRevenueByPeriod(ReportPeriod period, LocalDate from, LocalDate to) {
+        String sql = "SELECT to_char(date_trunc(?, s.sale_date::timestamp), 'YYYY-MM-DD') AS label, " +
+                REPORT_TOTALS + REPORT_FROM + REPORT_WHERE + " GROUP BY 1 ORDER BY 1";
+        return queryForReport(sql, period.getField(), from, to);
+    }
+
+    private List<SalesReportLine> queryForReport(String sql, Object... args) {
+        List<SalesReportLine> report;
+        try {
+            report = jdbcTemplate.query(sql, this::mapRowToSalesReportLine, args);
+        } catch (CannotGetJdbcConnectionException e) {
+            throw new DaoException("Unable to connect to server or database", e);
+        }
+        return report;
+    }
+
+    private SalesReportLine mapRowToSalesReportLine(ResultSet results, int rowNum) throws SQLException {
+        SalesReportLine line = new SalesReportLine();
+        line.setLabel(results.getString("label"));
+        line.setRevenue(results.getBigDecimal("revenue"));
+        line.setUnits(results.getLong("units"));
+        line.setOrderCount(results.getLong("order_count"));
+        return line;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.techelevator.ssgeek.dao;
 
 import com.techelevator.ssgeek.model.Product;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductDao {
@@ -55,4 +56,13 @@ public interface ProductDao {
      */
     int deleteProductById(int productId);
 
+    /**
+     * Remove many products and their line items from the datastore at once. Either all of them are removed or,
+     * if anything goes wrong, none are.
+     *
+     * @param productIds The ids of the products to remove. Ids that don't exist are ignored.
+     * @return The number of products deleted.
+     */
+    int deleteProductsByIds(Collection<Integer> productIds);
+
 }
@@ -2,6 +2,8 @@ package com.techelevator.ssgeek.dao;
 
 import com.techelevator.ssgeek.model.Sale;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface SaleDao {
@@ -55,6 +57,24 @@ public interface SaleDao {
      */
     Sale updateSale(Sale updatedSale);
 
+    /**
+     * Mark the given sales as shipped on the given date. Sales that were already shipped are left as they are.
+     *
+     * @param saleIds The ids of the sales to ship.
+     * @param shipDate The date they were shipped.
+     * @return The ids of the sales that were shipped, ordered by sale_id.
+     */
+    List<Integer> shipSales(Collection<Integer> saleIds, LocalDate shipDate);
+
+    /**
+     * Mark every unshipped sale made on or before a date as shipped on the given date.
+     *
+     * @param soldOnOrBefore The last sale date to ship.
+     * @param shipDate The date they were shipped.
+     * @return The ids of the sales that were shipped, ordered by sale_id.
+     */
+    List<Integer> shipUnshippedSales(LocalDate soldOnOrBefore, LocalDate shipDate);
+
     /**
      * Remove a sale from the datastore.
      *
@@ -63,4 +83,13 @@ public interface SaleDao {
      */
     int deleteSaleById(int saleId);
 
+    /**
+     * Remove many sales and their line items from the datastore at once. Either all of them are removed or,
+     * if anything goes wrong, none are.
+     *
+     * @param saleIds The ids of the sales to remove. Ids that don't exist are ignored.
+     * @return The number of sales deleted.
+     */
+    int deleteSalesByIds(Collection<Integer> saleIds);
+
 }
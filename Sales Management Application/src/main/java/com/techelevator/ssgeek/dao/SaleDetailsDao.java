@@ -0,0 +1,26 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.model.SaleDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SaleDetailsDao {
+    /**
+     * Get a sale together with its customer and its line items, ordered by line_item_id.
+     * If the id is not found, return null.
+     *
+     * @param saleId The id of the sale.
+     * @return A filled out SaleDetails object, null if the id is not found in the database.
+     */
+    SaleDetails getSaleDetailsById(int saleId);
+
+    /**
+     * Get the details of many sales at once, ordered by sale_id. Ids that are not found are left out.
+     *
+     * @param saleIds The ids of the sales.
+     * @return The details of each sale found as SaleDetails objects in a List.
+     */
+    List<SaleDetails> getSaleDetailsBySaleIds(Collection<Integer> saleIds);
+
+}
@@ -0,0 +1,52 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.model.ReportPeriod;
+import com.techelevator.ssgeek.model.SalesReportLine;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue, units and number of sales for the sales made between two dates, both included.
+ * Revenue is priced at the products' current prices.
+ */
+public interface SalesReportDao {
+    /**
+     * Get the totals for each product sold, ordered by revenue, highest first.
+     *
+     * @param from The first sale date to include.
+     * @param to The last sale date to include.
+     * @return A SalesReportLine labeled with the product name for each product sold.
+     */
+    List<SalesReportLine> getRevenueByProduct(LocalDate from, LocalDate to);
+
+    /**
+     * Get the customers with the most revenue, highest first.
+     *
+     * @param from The first sale date to include.
+     * @param to The last sale date to include.
+     * @param limit The most customers to return.
+     * @return A SalesReportLine labeled with the customer name for each of the top customers.
+     */
+    List<SalesReportLine> getTopCustomers(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Get the totals for each state customers bought from, ordered by revenue, highest first.
+     *
+     * @param from The first sale date to include.
+     * @param to The last sale date to include.
+     * @return A SalesReportLine labeled with the state for each state with sales.
+     */
+    List<SalesReportLine> getRevenueByState(LocalDate from, LocalDate to);
+
+    /**
+     * Get the totals for each day, week or month with sales, in date order.
+     *
+     * @param period The length of the periods.
+     * @param from The first sale date to include.
+     * @param to The last sale date to include.
+     * @return A SalesReportLine labeled with the period's first day (YYYY-MM-DD) for each period with sales.
+     */
+    List<SalesReportLine> getRevenueByPeriod(ReportPeriod period, LocalDate from, LocalDate to);
+
+}
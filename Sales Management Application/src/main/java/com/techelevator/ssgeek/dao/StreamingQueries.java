@@ -0,0 +1,42 @@
+package com.techelevator.ssgeek.dao;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+
+/**
+ * Query helpers that map rows straight from the JDBC ResultSet into model objects.
+ *
+ * Unlike queryForRowSet, nothing here copies the result into an intermediate CachedRowSet first, and together
+ * with the fetch size set by newJdbcTemplate a large result is read from the database in chunks instead of all
+ * at once. For lists, use JdbcTemplate.query(sql, rowMapper, args) directly.
+ */
+public final class StreamingQueries {
+
+    // Rows fetched per round trip; override with -Dssgeek.jdbc.fetch-size=n
+    public static final int FETCH_SIZE = Integer.getInteger("ssgeek.jdbc.fetch-size", 500);
+
+    private StreamingQueries() {
+    }
+
+    /**
+     * Create the JdbcTemplate a DAO uses, with the configured fetch size.
+     */
+    public static JdbcTemplate newJdbcTemplate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        return jdbcTemplate;
+    }
+
+    /**
+     * Map the first row of the result, or return null if there are no rows.
+     */
+    public static <T> T queryForFirst(JdbcOperations jdbcOperations, String sql, RowMapper<T> rowMapper,
+                                      Object... args) {
+        ResultSetExtractor<T> firstRow = rs -> rs.next() ? rowMapper.mapRow(rs, 0) : null;
+        return jdbcOperations.query(sql, firstRow, args);
+    }
+}
@@ -0,0 +1,47 @@
+package com.techelevator.ssgeek.dao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps a DAO so every call to it is timed as dao.method, tagged with the DAO class, the method and the
+ * exception it threw ("none" if it returned). The timer's count doubles as the call counter.
+ */
+public final class TimedDaos {
+
+    public static final String METRIC_NAME = "dao.method";
+
+    private TimedDaos() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T timed(Class<T> daoInterface, T dao, MeterRegistry registry) {
+        String daoName = dao.getClass().getSimpleName();
+        return (T) Proxy.newProxyInstance(daoInterface.getClassLoader(), new Class<?>[]{daoInterface},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(dao, args);
+                    }
+                    long start = System.nanoTime();
+                    String exception = "none";
+                    try {
+                        return method.invoke(dao, args);
+                    } catch (InvocationTargetException e) {
+                        exception = e.getCause().getClass().getSimpleName();
+                        throw e.getCause();
+                    } finally {
+                        Timer.builder(METRIC_NAME)
+                                .tag("dao", daoName)
+                                .tag("method", method.getName())
+                                .tag("exception", exception)
+                                .publishPercentileHistogram()
+                                .register(registry)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                });
+    }
+}
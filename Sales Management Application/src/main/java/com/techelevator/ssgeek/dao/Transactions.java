@@ -0,0 +1,28 @@
+package com.techelevator.ssgeek.dao;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the statements of a change that spans tables, such as deleting line items and then their sale, so that
+ * either all of them take effect or, if one fails, none do.
+ *
+ * DAOs are given the TransactionTemplate by Application. The tests leave it out: their data source is a single
+ * connection with autocommit off that is rolled back after each test, and committing a transaction of our own
+ * would defeat that. Without a TransactionTemplate the statements join whatever transaction the connection is
+ * already in.
+ */
+public final class Transactions {
+
+    private Transactions() {
+    }
+
+    /**
+     * Run the work in a transaction of the given TransactionTemplate, or directly if there is none.
+     * When the database can't be reached, the TransactionTemplate throws CannotCreateTransactionException.
+     */
+    public static <T> T inTransaction(TransactionTemplate transactionTemplate, Supplier<T> work) {
+        return transactionTemplate != null ? transactionTemplate.execute(status -> work.get()) : work.get();
+    }
+}
@@ -0,0 +1,21 @@
+package com.techelevator.ssgeek.model;
+
+/**
+ * The length of the periods a sales report groups sales into. Weeks start on Monday.
+ */
+public enum ReportPeriod {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    // The field name date_trunc truncates to
+    private final String field;
+
+    ReportPeriod(String field) {
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,54 @@
+package com.techelevator.ssgeek.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything shown for one sale: the sale itself, the customer it was sold to and its line items.
+ */
+public class SaleDetails {
+    private Sale sale;
+    private Customer customer;
+    private List<LineItem> lineItems = new ArrayList<>();
+
+    public SaleDetails() {}
+
+    public SaleDetails(Sale sale, Customer customer, List<LineItem> lineItems) {
+        this.sale = sale;
+        this.customer = customer;
+        this.lineItems = lineItems;
+    }
+
+    public Sale getSale() {
+        return sale;
+    }
+
+    public void setSale(Sale sale) {
+        this.sale = sale;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public List<LineItem> getLineItems() {
+        return lineItems;
+    }
+
+    public void setLineItems(List<LineItem> lineItems) {
+        this.lineItems = lineItems;
+    }
+
+    public BigDecimal getTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LineItem lineItem : lineItems) {
+            total = total.add(lineItem.getExtendedPrice());
+        }
+        return total;
+    }
+}
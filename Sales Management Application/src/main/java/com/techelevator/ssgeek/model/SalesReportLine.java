@@ -0,0 +1,55 @@
+package com.techelevator.ssgeek.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One group of a sales report, e.g. one product or one month, with the revenue, units sold and number of
+ * sales in it.
+ */
+public class SalesReportLine {
+    private String label;
+    private BigDecimal revenue;
+    private long units;
+    private long orderCount;
+
+    public SalesReportLine() {}
+
+    public SalesReportLine(String label, BigDecimal revenue, long units, long orderCount) {
+        this.label = label;
+        this.revenue = revenue;
+        this.units = units;
+        this.orderCount = orderCount;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+}
@@ -4,8 +4,10 @@ import com.techelevator.ssgeek.model.Product;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 
 public class JdbcProductDaoTests extends BaseDaoTests {
@@ -62,6 +64,23 @@ public class JdbcProductDaoTests extends BaseDaoTests {
         assertProductsMatch(PRODUCT_3, productsWithNoSales.get(0));
     }
 
+    @Test
+    public void getProductsWithNoSales_by_sale_count_follows_line_item_changes() {
+        JdbcProductDao saleCountDao = new JdbcProductDao(dataSource, null, true);
+        List<Product> productsWithNoSales = saleCountDao.getProductsWithNoSales();
+        Assert.assertEquals(1, productsWithNoSales.size());
+        assertProductsMatch(PRODUCT_3, productsWithNoSales.get(0));
+
+        new JdbcSaleDao(dataSource).deleteSalesByIds(Arrays.asList(1, 2));
+        new JdbcTemplate(dataSource).update("INSERT INTO line_item (sale_id, product_id, quantity) VALUES (3, 3, 1)");
+
+        productsWithNoSales = saleCountDao.getProductsWithNoSales();
+        Assert.assertEquals(2, productsWithNoSales.size());
+        assertProductsMatch(PRODUCT_2, productsWithNoSales.get(0));
+        assertProductsMatch(PRODUCT_4, productsWithNoSales.get(1));
+        Assert.assertEquals(2, dao.getProductsWithNoSales().size());
+    }
+
     @Test
     public void createProduct_creates_product() {
         Product createdProduct = dao.createProduct(testProduct);
@@ -98,6 +117,17 @@ public class JdbcProductDaoTests extends BaseDaoTests {
         Assert.assertNull("Deleted product can still be retrieved", retrievedProduct);
     }
 
+    @Test
+    public void deleteProductsByIds_deletes_products_and_their_line_items() {
+
+        int rowsAffected = dao.deleteProductsByIds(Arrays.asList(1, 4, 99));
+
+        Assert.assertEquals("Products not deleted", 2, rowsAffected);
+        Assert.assertNull(dao.getProductById(1));
+        Assert.assertNull(dao.getProductById(4));
+        Assert.assertEquals(2, dao.getProducts().size());
+    }
+
     private void assertProductsMatch(Product expected, Product actual) {
         Assert.assertEquals(expected.getProductId(), actual.getProductId());
         Assert.assertEquals(expected.getName(), actual.getName());
@@ -1,11 +1,19 @@
 package com.techelevator.ssgeek.dao;
 
+import com.techelevator.ssgeek.exception.DaoException;
 import com.techelevator.ssgeek.model.Sale;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class JdbcSaleDaoTests extends BaseDaoTests {
@@ -105,6 +113,29 @@ public class JdbcSaleDaoTests extends BaseDaoTests {
         assertSalesMatch(saleToUpdate, retrievedSale);
     }
 
+    @Test
+    public void shipSales_ships_only_unshipped_sales() {
+        LocalDate today = LocalDate.parse("2024-03-01");
+
+        List<Integer> shippedSaleIds = dao.shipSales(Arrays.asList(3, 2, 1, 99), today);
+
+        Assert.assertEquals(Arrays.asList(1, 3), shippedSaleIds);
+        Assert.assertEquals(today, dao.getSaleById(1).getShipDate());
+        Assert.assertEquals(today, dao.getSaleById(3).getShipDate());
+        Assert.assertEquals(SALE_2.getShipDate(), dao.getSaleById(2).getShipDate());
+    }
+
+    @Test
+    public void shipUnshippedSales_ships_sales_made_on_or_before_date() {
+        LocalDate today = LocalDate.parse("2024-03-01");
+
+        List<Integer> shippedSaleIds = dao.shipUnshippedSales(LocalDate.parse("2022-02-28"), today);
+
+        Assert.assertEquals(Collections.singletonList(1), shippedSaleIds);
+        Assert.assertEquals(1, dao.getUnshippedSales().size());
+        Assert.assertEquals(0, dao.shipUnshippedSales(LocalDate.parse("2022-02-28"), today).size());
+    }
+
     @Test
     public void deleteSaleById_deletes_sale() {
 
@@ -115,6 +146,46 @@ public class JdbcSaleDaoTests extends BaseDaoTests {
         Assert.assertNull("Deleted sale can still be retrieved", retrievedSale);
     }
 
+    @Test
+    public void deleteSalesByIds_deletes_sales_and_their_line_items() {
+
+        int rowsAffected = dao.deleteSalesByIds(Arrays.asList(1, 2, 99));
+
+        Assert.assertEquals("Sales not deleted", 2, rowsAffected);
+        Assert.assertNull(dao.getSaleById(1));
+        Assert.assertNull(dao.getSaleById(2));
+        Assert.assertEquals(0, dao.getSalesByProductId(4).size());
+    }
+
+    @Test
+    public void deleteSalesByIds_in_a_transaction_keeps_line_items_when_deleting_a_sale_fails() {
+        JdbcSaleDao transactionalDao = new JdbcSaleDao(dataSource,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        // Something else still refers to sale 1, so deleting it fails after its line items are gone.
+        // The table is rolled back with the rest of the test.
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("CREATE TABLE sale_reference (sale_id int REFERENCES sale (sale_id))");
+        jdbcTemplate.update("INSERT INTO sale_reference VALUES (1)");
+
+        try {
+            transactionalDao.deleteSalesByIds(Arrays.asList(1, 3));
+            Assert.fail("Expected the delete to fail");
+        } catch (DaoException e) {
+            // expected
+        }
+
+        Assert.assertEquals(3, new JdbcLineItemDao(dataSource).getLineItemsBySaleId(1).size());
+        Assert.assertEquals(1, new JdbcLineItemDao(dataSource).getLineItemsBySaleId(3).size());
+        assertSalesMatch(SALE_3, dao.getSaleById(3));
+    }
+
+    @Test(expected = DaoException.class)
+    public void deleteSalesByIds_without_a_database_throws_DaoException() {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:postgresql://localhost:1/SSGeek");
+        new JdbcSaleDao(unreachable, new TransactionTemplate(new DataSourceTransactionManager(unreachable)))
+                .deleteSalesByIds(Collections.singletonList(1));
+    }
+
     private void assertSalesMatch(Sale expected, Sale actual) {
         Assert.assertEquals(expected.getSaleId(), actual.getSaleId());
         Assert.assertEquals(expected.getCustomerId(), actual.getCustomerId());
@@ -0,0 +1,62 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.model.LineItem;
+import com.techelevator.ssgeek.model.SaleDetails;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+public class JdbcSaleDetailsDaoTests extends BaseDaoTests {
+
+    private JdbcSaleDetailsDao dao;
+
+    @Before
+    public void setup() {
+        dao = new JdbcSaleDetailsDao(dataSource);
+    }
+
+    @Test
+    public void getSaleDetailsById_returns_sale_customer_and_line_items() {
+        SaleDetails saleDetails = dao.getSaleDetailsById(1);
+
+        Assert.assertEquals(1, saleDetails.getSale().getSaleId());
+        Assert.assertEquals(LocalDate.parse("2022-01-01"), saleDetails.getSale().getSaleDate());
+        Assert.assertNull(saleDetails.getSale().getShipDate());
+        Assert.assertEquals("Customer 1", saleDetails.getSale().getCustomerName());
+        Assert.assertEquals(1, saleDetails.getCustomer().getCustomerId());
+        Assert.assertEquals("Addr 1-2", saleDetails.getCustomer().getStreetAddress2());
+        Assert.assertEquals("11111", saleDetails.getCustomer().getZipCode());
+
+        List<LineItem> lineItems = saleDetails.getLineItems();
+        Assert.assertEquals(3, lineItems.size());
+        Assert.assertEquals(1, lineItems.get(0).getLineItemId());
+        Assert.assertEquals("Product 1", lineItems.get(0).getProductName());
+        Assert.assertEquals(new BigDecimal("9.99"), lineItems.get(0).getPrice());
+        Assert.assertEquals(3, lineItems.get(2).getLineItemId());
+        Assert.assertEquals(new BigDecimal("29.98"), saleDetails.getTotal());
+    }
+
+    @Test
+    public void getSaleDetailsById_with_invalid_id_returns_null() {
+        Assert.assertNull(dao.getSaleDetailsById(99));
+    }
+
+    @Test
+    public void getSaleDetailsBySaleIds_returns_each_sale_found_in_order() {
+        List<SaleDetails> saleDetails = dao.getSaleDetailsBySaleIds(Arrays.asList(4, 2, 99));
+
+        Assert.assertEquals(2, saleDetails.size());
+        Assert.assertEquals(2, saleDetails.get(0).getSale().getSaleId());
+        Assert.assertEquals(2, saleDetails.get(0).getLineItems().size());
+        Assert.assertEquals(new BigDecimal("109.80"), saleDetails.get(0).getTotal());
+        Assert.assertEquals(4, saleDetails.get(1).getSale().getSaleId());
+        Assert.assertEquals("Customer 2", saleDetails.get(1).getCustomer().getName());
+        Assert.assertTrue(saleDetails.get(1).getLineItems().isEmpty());
+    }
+
+}
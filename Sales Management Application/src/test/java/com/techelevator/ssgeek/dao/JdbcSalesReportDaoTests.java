@@ -0,0 +1,76 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.model.ReportPeriod;
+import com.techelevator.ssgeek.model.SalesReportLine;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class JdbcSalesReportDaoTests extends BaseDaoTests {
+
+    private static final LocalDate FROM = LocalDate.parse("2022-01-01");
+    private static final LocalDate TO = LocalDate.parse("2022-12-31");
+
+    private JdbcSalesReportDao dao;
+
+    @Before
+    public void setup() {
+        dao = new JdbcSalesReportDao(dataSource);
+    }
+
+    @Test
+    public void getRevenueByProduct_returns_totals_highest_revenue_first() {
+        List<SalesReportLine> report = dao.getRevenueByProduct(FROM, TO);
+        Assert.assertEquals(3, report.size());
+        assertLineMatches("Product 1", "1108.89", 111, 3, report.get(0));
+        assertLineMatches("Product 2", "19.00", 1, 1, report.get(1));
+        assertLineMatches("Product 4", "10.89", 11, 2, report.get(2));
+    }
+
+    @Test
+    public void getRevenueByProduct_only_includes_sales_in_the_date_range() {
+        List<SalesReportLine> report = dao.getRevenueByProduct(LocalDate.parse("2022-02-01"), LocalDate.parse("2022-02-28"));
+        Assert.assertEquals(2, report.size());
+        assertLineMatches("Product 1", "99.90", 10, 1, report.get(0));
+        assertLineMatches("Product 4", "9.90", 10, 1, report.get(1));
+    }
+
+    @Test
+    public void getTopCustomers_returns_at_most_limit_customers() {
+        List<SalesReportLine> report = dao.getTopCustomers(FROM, TO, 1);
+        Assert.assertEquals(1, report.size());
+        assertLineMatches("Customer 2", "999.00", 100, 1, report.get(0));
+    }
+
+    @Test
+    public void getRevenueByState_returns_totals_per_state() {
+        List<SalesReportLine> report = dao.getRevenueByState(FROM, TO);
+        Assert.assertEquals(2, report.size());
+        assertLineMatches("S2", "999.00", 100, 1, report.get(0));
+        assertLineMatches("S1", "139.78", 23, 2, report.get(1));
+    }
+
+    @Test
+    public void getRevenueByPeriod_groups_by_period_start_in_date_order() {
+        List<SalesReportLine> report = dao.getRevenueByPeriod(ReportPeriod.MONTH, FROM, TO);
+        Assert.assertEquals(3, report.size());
+        assertLineMatches("2022-01-01", "29.98", 3, 1, report.get(0));
+        assertLineMatches("2022-02-01", "109.80", 20, 1, report.get(1));
+        assertLineMatches("2022-03-01", "999.00", 100, 1, report.get(2));
+
+        report = dao.getRevenueByPeriod(ReportPeriod.WEEK, FROM, TO);
+        Assert.assertEquals("2021-12-27", report.get(0).getLabel());
+    }
+
+    private void assertLineMatches(String label, String revenue, long units, long orderCount, SalesReportLine actual) {
+        Assert.assertEquals(label, actual.getLabel());
+        Assert.assertEquals(new BigDecimal(revenue), actual.getRevenue());
+        Assert.assertEquals(units, actual.getUnits());
+        Assert.assertEquals(orderCount, actual.getOrderCount());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.ssgeek.exception.DaoException;
+import com.techelevator.ssgeek.model.Customer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class TimedDaosTests extends BaseDaoTests {
+
+    private SimpleMeterRegistry registry;
+
+    @Before
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void call_is_timed_with_dao_method_and_no_exception() {
+        CustomerDao dao = TimedDaos.timed(CustomerDao.class, new JdbcCustomerDao(dataSource), registry);
+
+        Customer customer = dao.getCustomerById(1);
+
+        Assert.assertEquals(1, customer.getCustomerId());
+        Timer timer = registry.find(TimedDaos.METRIC_NAME)
+                .tags("dao", "JdbcCustomerDao", "method", "getCustomerById", "exception", "none").timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void failed_call_is_timed_with_the_exception_it_threw() {
+        CustomerDao dao = TimedDaos.timed(CustomerDao.class,
+                new JdbcCustomerDao(new DriverManagerDataSource("jdbc:postgresql://localhost:1/SSGeek")), registry);
+
+        try {
+            dao.getCustomers();
+            Assert.fail("Expected DaoException");
+        } catch (DaoException e) {
+            // expected, and not wrapped by the proxy
+        }
+
+        Timer timer = registry.find(TimedDaos.METRIC_NAME)
+                .tags("dao", "JdbcCustomerDao", "method", "getCustomers", "exception", "DaoException").timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(1, timer.count());
+        Assert.assertNull(registry.find(TimedDaos.METRIC_NAME).tag("exception", "none").timer());
+    }
+}
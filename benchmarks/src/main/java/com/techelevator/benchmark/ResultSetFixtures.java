@@ -0,0 +1,67 @@
+package com.techelevator.benchmark;
+
+import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory result sets for the row mapping benchmarks, so they measure the mapping code and not a database.
+ */
+public final class ResultSetFixtures {
+
+    private ResultSetFixtures() {
+    }
+
+    /**
+     * Build a result set with the given columns and rows.
+     *
+     * @param columns The column names.
+     * @param types The java.sql.Types of the columns.
+     * @param rowCount The number of rows.
+     * @param row Builds the values of the row with the given index.
+     * @return The result set, positioned before its first row.
+     */
+    public static CachedRowSet resultSet(String[] columns, int[] types, int rowCount, IntFunction<Object[]> row)
+            throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            metaData.setColumnName(i + 1, columns[i]);
+            metaData.setColumnLabel(i + 1, columns[i]);
+            metaData.setColumnType(i + 1, types[i]);
+            metaData.setNullable(i + 1, ResultSetMetaData.columnNullable);
+        }
+
+        CachedRowSet resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metaData);
+        for (int rowNum = 0; rowNum < rowCount; rowNum++) {
+            Object[] values = row.apply(rowNum);
+            resultSet.moveToInsertRow();
+            for (int i = 0; i < values.length; i++) {
+                resultSet.updateObject(i + 1, values[i]);
+            }
+            resultSet.insertRow();
+            resultSet.moveToCurrentRow();
+        }
+        resultSet.beforeFirst();
+        return resultSet;
+    }
+
+    /**
+     * Copy a result set the way JdbcTemplate.queryForRowSet does, and return the copy as a ResultSet so the DAO
+     * row mappers can read it. The difference to mapping the original is the cost of the SqlRowSet.
+     */
+    public static ResultSet copyAsSqlRowSet(ResultSet resultSet) throws SQLException {
+        resultSet.beforeFirst();
+        ResultSetWrappingSqlRowSet rowSet =
+                (ResultSetWrappingSqlRowSet) new SqlRowSetResultSetExtractor().extractData(resultSet);
+        return rowSet.getResultSet();
+    }
+}
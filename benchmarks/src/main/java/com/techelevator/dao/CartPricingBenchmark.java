@@ -0,0 +1,86 @@
+package com.techelevator.dao;
+
+import com.techelevator.model.Cart;
+import com.techelevator.model.CartItemDetails;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The math that prices a cart, before and after CartPricing.
+ *
+ * The _bigDecimal benchmarks are the baseline: the BigDecimal subtotal, tax and total of the old
+ * JdbcCartItemDetailsDao, copied below without their queries and tax service call. Pricing one cart called
+ * getSubtotal four times, once directly and three times through getTaxAmount and getCartTotal, and
+ * price_bigDecimal does the same. The _cents benchmarks are the CartPricing and Money code that replaced it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class CartPricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    // A fraction, as TaxRateCache hands rates out: 5.75%
+    private final BigDecimal taxRate = new BigDecimal("0.0575");
+    private List<CartItemDetails> itemsInCart;
+
+    @Setup
+    public void setup() {
+        itemsInCart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            itemsInCart.add(new CartItemDetails("Product " + i, 1 + i % 5, new BigDecimal("19.99").add(BigDecimal.valueOf(i))));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal subtotal_bigDecimal() {
+        return getSubtotal(itemsInCart);
+    }
+
+    @Benchmark
+    public Cart price_bigDecimal() {
+        Cart cart = new Cart();
+        cart.setItemsInCart(itemsInCart);
+        cart.setSubtotal(getSubtotal(itemsInCart));
+        cart.setTaxAmount(getTaxAmount(itemsInCart, taxRate));
+        cart.setCartTotal(getCartTotal(itemsInCart, taxRate));
+        return cart;
+    }
+
+    @Benchmark
+    public Money subtotal_cents() {
+        return CartPricing.subtotal(itemsInCart);
+    }
+
+    @Benchmark
+    public Cart price_cents() {
+        return CartPricing.price(itemsInCart, taxRate);
+    }
+
+    private static BigDecimal getSubtotal(List<CartItemDetails> cartItemDetails) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (CartItemDetails cartItemDetail : cartItemDetails) {
+            subtotal = subtotal.add(cartItemDetail.getPrice().multiply(BigDecimal.valueOf(cartItemDetail.getQuantity())));
+        }
+        return subtotal.setScale(2, RoundingMode.CEILING);
+    }
+
+    private static BigDecimal getTaxAmount(List<CartItemDetails> cartItemDetails, BigDecimal taxRate) {
+        BigDecimal taxAmount = taxRate.multiply(getSubtotal(cartItemDetails));
+        return taxAmount.setScale(2, RoundingMode.CEILING);
+    }
+
+    private static BigDecimal getCartTotal(List<CartItemDetails> cartItemDetails, BigDecimal taxRate) {
+        BigDecimal cartTotal = getSubtotal(cartItemDetails).add(getTaxAmount(cartItemDetails, taxRate));
+        return cartTotal.setScale(2, RoundingMode.CEILING);
+    }
+}
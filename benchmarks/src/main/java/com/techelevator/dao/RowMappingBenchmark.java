@@ -0,0 +1,88 @@
+package com.techelevator.dao;
+
+import com.techelevator.benchmark.ResultSetFixtures;
+import com.techelevator.model.CartItem;
+import com.techelevator.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Management System row mappers, reading rows straight from a ResultSet versus from the SqlRowSet copy
+ * that queryForRowSet makes first. Both read from memory: the ResultSet is a CachedRowSet, not a driver's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int rows;
+
+    private final JdbcProductDao productDao = new JdbcProductDao(new JdbcTemplate());
+    private final JdbcCartItemDao cartItemDao = new JdbcCartItemDao(new JdbcTemplate(), new UserLocks(1));
+
+    private ResultSet products;
+    private ResultSet cartItems;
+
+    @Setup
+    public void setup() throws SQLException {
+        products = ResultSetFixtures.resultSet(
+                new String[]{"product_id", "product_sku", "name", "description", "price", "image_name"},
+                new int[]{Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.VARCHAR},
+                rows, i -> new Object[]{i + 1, "SKU-" + i, "Product " + i, "Description of product " + i,
+                        new BigDecimal("19.99"), "product" + i + ".jpg"});
+        cartItems = ResultSetFixtures.resultSet(
+                new String[]{"cart_item_id", "user_id", "product_id", "quantity"},
+                new int[]{Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER},
+                rows, i -> new Object[]{i + 1, 1, i + 1, 2});
+    }
+
+    @Benchmark
+    public List<Product> mapRowToProduct_resultSet() throws SQLException {
+        return mapProducts(products);
+    }
+
+    @Benchmark
+    public List<Product> mapRowToProduct_sqlRowSet() throws SQLException {
+        return mapProducts(ResultSetFixtures.copyAsSqlRowSet(products));
+    }
+
+    @Benchmark
+    public List<CartItem> mapRowToCartItem_resultSet() throws SQLException {
+        return mapCartItems(cartItems);
+    }
+
+    @Benchmark
+    public List<CartItem> mapRowToCartItem_sqlRowSet() throws SQLException {
+        return mapCartItems(ResultSetFixtures.copyAsSqlRowSet(cartItems));
+    }
+
+    private List<Product> mapProducts(ResultSet results) throws SQLException {
+        List<Product> mapped = new ArrayList<>(rows);
+        results.beforeFirst();
+        while (results.next()) {
+            mapped.add(productDao.mapRowToProduct(results, mapped.size()));
+        }
+        return mapped;
+    }
+
+    private List<CartItem> mapCartItems(ResultSet results) throws SQLException {
+        List<CartItem> mapped = new ArrayList<>(rows);
+        results.beforeFirst();
+        while (results.next()) {
+            mapped.add(cartItemDao.mapRowToCartItem(results, mapped.size()));
+        }
+        return mapped;
+    }
+}
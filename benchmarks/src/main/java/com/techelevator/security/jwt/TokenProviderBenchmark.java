@@ -0,0 +1,76 @@
+package com.techelevator.security.jwt;
+
+import com.techelevator.security.AuthenticatedUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minting and checking JWTs. authenticate_cached is what JWTFilter pays for a token it has seen before;
+ * authenticate_uncached, validateToken and getAuthentication parse and verify the signature every time.
+ *
+ * The JWT and JSON code behind the uncached paths takes some 15 seconds to reach steady state on one CPU, hence
+ * the longer warmup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    private static final String SECRET = "T9GKvpb3oX5qqo3sd6+OJ2iqldexr32h7FHMpkgON+6yAtr2gfJOQkjt4mR9b7rCPL3wip8vgXzkr2LOpbAn" +
+            "itVQvHnIO2tlaQdnPo+xc10/KtcEBDMQV6nPn41+ScZ9wbvTIQn2+FUoJkQhXFcWRe4r4CbDKzZ73Z4ZyhMmJ4n8crYDl7dR3XjScLq4";
+
+    private TokenProvider cachingTokenProvider;
+    private TokenProvider tokenProvider;
+    private Authentication login;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachingTokenProvider = newTokenProvider(10000);
+        tokenProvider = newTokenProvider(0);
+        AuthenticatedUser user = new AuthenticatedUser(7, "user1", "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        login = new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
+        token = tokenProvider.createToken(login, false);
+        cachingTokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(login, false);
+    }
+
+    @Benchmark
+    public Authentication authenticate_cached() {
+        return cachingTokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public Authentication authenticate_uncached() {
+        return tokenProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    private static TokenProvider newTokenProvider(int cacheSize) {
+        TokenProvider provider = new TokenProvider(SECRET, 3600, 3600, cacheSize);
+        provider.afterPropertiesSet();
+        return provider;
+    }
+}
@@ -0,0 +1,133 @@
+package com.techelevator.ssgeek.dao;
+
+import com.techelevator.benchmark.ResultSetFixtures;
+import com.techelevator.ssgeek.model.LineItem;
+import com.techelevator.ssgeek.model.Product;
+import com.techelevator.ssgeek.model.Sale;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sales Management Application row mappers, reading rows straight from a ResultSet versus from the SqlRowSet
+ * copy that queryForRowSet makes first. Both read from memory: the ResultSet is a CachedRowSet, not a driver's.
+ * Also sums LineItem.getExtendedPrice over the mapped line items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SalesRowMappingBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int rows;
+
+    // Never connects; the DAOs only need it to build their JdbcTemplate
+    private final BasicDataSource dataSource = new BasicDataSource();
+    private final JdbcProductDao productDao = new JdbcProductDao(dataSource);
+    private final JdbcSaleDao saleDao = new JdbcSaleDao(dataSource);
+    private final JdbcLineItemDao lineItemDao = new JdbcLineItemDao(dataSource);
+
+    private ResultSet products;
+    private ResultSet sales;
+    private ResultSet lineItems;
+    private List<LineItem> mappedLineItems;
+
+    @Setup
+    public void setup() throws SQLException {
+        products = ResultSetFixtures.resultSet(
+                new String[]{"product_id", "name", "description", "price", "image_name"},
+                new int[]{Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.VARCHAR},
+                rows, i -> new Object[]{i + 1, "Product " + i, "Description of product " + i,
+                        new BigDecimal("19.99"), "product" + i + ".jpg"});
+        LocalDate saleDate = LocalDate.of(2022, 3, 1);
+        sales = ResultSetFixtures.resultSet(
+                new String[]{"sale_id", "customer_id", "sale_date", "ship_date", "name"},
+                new int[]{Types.INTEGER, Types.INTEGER, Types.DATE, Types.DATE, Types.VARCHAR},
+                rows, i -> new Object[]{i + 1, 1 + i % 10, Date.valueOf(saleDate.plusDays(i % 365)),
+                        i % 2 == 0 ? Date.valueOf(saleDate.plusDays(i % 365 + 2)) : null, "Customer " + i % 10});
+        lineItems = ResultSetFixtures.resultSet(
+                new String[]{"line_item_id", "sale_id", "product_id", "quantity", "name", "price"},
+                new int[]{Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.NUMERIC},
+                rows, i -> new Object[]{i + 1, 1 + i / 4, 1 + i % 20, 1 + i % 5, "Product " + i % 20,
+                        new BigDecimal("19.99").add(BigDecimal.valueOf(i % 20))});
+        mappedLineItems = mapLineItems(lineItems);
+    }
+
+    @Benchmark
+    public List<Product> mapRowToProduct_resultSet() throws SQLException {
+        return mapProducts(products);
+    }
+
+    @Benchmark
+    public List<Product> mapRowToProduct_sqlRowSet() throws SQLException {
+        return mapProducts(ResultSetFixtures.copyAsSqlRowSet(products));
+    }
+
+    @Benchmark
+    public List<Sale> mapRowToSale_resultSet() throws SQLException {
+        return mapSales(sales);
+    }
+
+    @Benchmark
+    public List<Sale> mapRowToSale_sqlRowSet() throws SQLException {
+        return mapSales(ResultSetFixtures.copyAsSqlRowSet(sales));
+    }
+
+    @Benchmark
+    public List<LineItem> mapRowToLineItem_resultSet() throws SQLException {
+        return mapLineItems(lineItems);
+    }
+
+    @Benchmark
+    public List<LineItem> mapRowToLineItem_sqlRowSet() throws SQLException {
+        return mapLineItems(ResultSetFixtures.copyAsSqlRowSet(lineItems));
+    }
+
+    @Benchmark
+    public BigDecimal extendedPriceTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LineItem lineItem : mappedLineItems) {
+            total = total.add(lineItem.getExtendedPrice());
+        }
+        return total;
+    }
+
+    private List<Product> mapProducts(ResultSet results) throws SQLException {
+        List<Product> mapped = new ArrayList<>(rows);
+        results.beforeFirst();
+        while (results.next()) {
+            mapped.add(productDao.mapRowToProduct(results, mapped.size()));
+        }
+        return mapped;
+    }
+
+    private List<Sale> mapSales(ResultSet results) throws SQLException {
+        List<Sale> mapped = new ArrayList<>(rows);
+        results.beforeFirst();
+        while (results.next()) {
+            mapped.add(saleDao.mapRowToSale(results, mapped.size()));
+        }
+        return mapped;
+    }
+
+    private List<LineItem> mapLineItems(ResultSet results) throws SQLException {
+        List<LineItem> mapped = new ArrayList<>(rows);
+        results.beforeFirst();
+        while (results.next()) {
+            mapped.add(lineItemDao.mapRowToLineItem(results, mapped.size()));
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Runs the load test against a local stack: the Order Management System on port 8080, using the local Postgres
+# database from database/m2_final_project.sql, with the stub tax service from its test sources on port 8089.
+# Any arguments are passed on to the load test, e.g. ./run-local.sh --users=50 --duration=120
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+APP="$ROOT/Order Management System"
+LOGS="$ROOT/loadtest/target"
+
+mvn -B -q -f "$APP" package -DskipTests
+mvn -B -q -f "$APP" dependency:build-classpath -Dmdep.outputFile="$APP/target/classpath.txt"
+mvn -B -q -f "$ROOT/loadtest" package
+
+java -cp "$APP/target/classes:$APP/target/test-classes:$(cat "$APP/target/classpath.txt")" \
+    com.techelevator.tax.StubTaxServer 8089 > "$LOGS/stub-tax.log" 2>&1 &
+STUB_PID=$!
+java -jar "$APP/target/module-02-final-project-1.0-exec.jar" \
+    --tax.url='http://localhost:8089/api/statetax?state=' > "$LOGS/app.log" 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID $STUB_PID 2>/dev/null || true' EXIT
+
+STARTED=false
+for _ in $(seq 60); do
+    if curl -sf -o /dev/null http://localhost:8080/products; then
+        STARTED=true
+        break
+    fi
+    kill -0 $APP_PID 2>/dev/null || break
+    sleep 1
+done
+if [ "$STARTED" != true ]; then
+    echo "The Order Management System did not start, see $LOGS/app.log" >&2
+    exit 1
+fi
+
+cd "$ROOT"
+java -jar "$ROOT/loadtest/target/loadtest.jar" "$@"
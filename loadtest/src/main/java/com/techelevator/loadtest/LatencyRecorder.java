@@ -0,0 +1,71 @@
+package com.techelevator.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response times of one virtual user, by endpoint. Each virtual user records into its own recorder, so recording
+ * never contends; the recorders are merged for the report once the run is over.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Latencies> endpoints = new TreeMap<>();
+
+    public void record(String endpoint, long nanos, boolean error) {
+        endpoints.computeIfAbsent(endpoint, key -> new Latencies()).add(nanos, error);
+    }
+
+    public void mergeInto(LatencyRecorder total) {
+        endpoints.forEach((endpoint, latencies) ->
+                total.endpoints.computeIfAbsent(endpoint, key -> new Latencies()).addAll(latencies));
+    }
+
+    public Map<String, Latencies> getEndpoints() {
+        return endpoints;
+    }
+
+    public static class Latencies {
+        private long[] nanos = new long[256];
+        private int count;
+        private int errors;
+
+        void add(long latency, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        /**
+         * The nearest-rank percentile, in milliseconds.
+         */
+        public double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * count);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+}
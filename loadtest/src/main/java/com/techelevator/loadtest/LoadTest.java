@@ -0,0 +1,207 @@
+package com.techelevator.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the Postman collection's flows against a running Order Management System and reports throughput and
+ * latency percentiles per request.
+ *
+ * Options, all optional:
+ *   --base-url=http://localhost:8080
+ *   --collection=Order Management System/postman/M2-Final_Project.postman_collection.json
+ *   --users=20                 virtual users, started evenly over the ramp-up
+ *   --ramp-up=10               seconds
+ *   --warm-up=15               seconds from the start whose requests are not reported
+ *   --duration=60              seconds measured after the warm-up
+ *   --think-time=100           average milliseconds between requests of a virtual user
+ *   --weights=browse:60,shop:30,wishlist:10
+ *   --csv=results.csv          also write the report as CSV
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        Path collectionFile = Path.of(options.getOrDefault("collection",
+                "Order Management System/postman/M2-Final_Project.postman_collection.json"));
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        long rampUpSeconds = Long.parseLong(options.getOrDefault("ramp-up", "10"));
+        long warmUpSeconds = Long.parseLong(options.getOrDefault("warm-up", "15"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        long thinkTimeMillis = Long.parseLong(options.getOrDefault("think-time", "100"));
+
+        PostmanCollection collection = prepareCollection(collectionFile);
+        List<Scenario> scenarios = weighScenarios(scenarios(), options.getOrDefault("weights", ""));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmUpSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        System.out.printf("%d virtual users against %s: %ds warm-up, %ds measured, scenarios %s%n",
+                users, baseUrl, warmUpSeconds, durationSeconds, describe(scenarios));
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            VirtualUser virtualUser = new VirtualUser(client, collection, scenarios, baseUrl,
+                    "load-" + runId + "-" + i, measureFrom, stopAt, thinkTimeMillis);
+            Thread thread = new Thread(virtualUser, "virtual-user-" + i);
+            virtualUsers.add(virtualUser);
+            threads.add(thread);
+            thread.start();
+            if (users > 1) {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(rampUpSeconds) / (users - 1));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (VirtualUser virtualUser : virtualUsers) {
+            virtualUser.getRecorder().mergeInto(total);
+        }
+        printReport(System.out, collection, total, durationSeconds);
+        if (options.containsKey("csv")) {
+            try (PrintStream csv = new PrintStream(Files.newOutputStream(Path.of(options.get("csv"))))) {
+                printCsv(csv, collection, total, durationSeconds);
+            }
+        }
+    }
+
+    /**
+     * The flows a real user goes through. Browsing is by far the most common, and checkout the rarest.
+     */
+    static List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("browse", 60)
+                .then("Get all products")
+                .then("Find products by Name")
+                .then("Find products by SKU")
+                .then("Get one product"));
+        scenarios.add(new Scenario("shop", 30)
+                .then("Get all products")
+                .then("Add item to cart")
+                .then("Get cart")
+                .then("Remove item from cart")
+                .then("Add item to cart")
+                .then("Get cart")
+                .then("Checkout"));
+        scenarios.add(new Scenario("wishlist", 10)
+                .then("Create a wishlist", "wishlistId", "wishlistId")
+                .then("Get wishlists")
+                .then("Get one wishlist")
+                .then("Add wishlist item")
+                .then("Add wishlist item existing")
+                .then("Remove wishlist item")
+                .then("Delete wishlist"));
+        return scenarios;
+    }
+
+    /**
+     * Load the collection and turn what it hard-codes for one user into variables, so every virtual user works
+     * on its own account and its own wishlist.
+     */
+    static PostmanCollection prepareCollection(Path collectionFile) throws IOException {
+        PostmanCollection collection = PostmanCollection.load(collectionFile);
+        collection.parameterize("\"username\": \"mike\"", "\"username\": \"{{username}}\"");
+        collection.parameterize("\"username\": \"user\"", "\"username\": \"{{username}}\"");
+        collection.parameterize("/wishlists/1", "/wishlists/{{wishlistId}}");
+        // Checkout isn't in the collection yet
+        collection.add(new RequestTemplate("Checkout", "POST", "{{baseUrl}}/orders", null,
+                Collections.singletonMap("Idempotency-Key", "{{requestId}}"), true));
+        return collection;
+    }
+
+    private static List<Scenario> weighScenarios(List<Scenario> scenarios, String weights) {
+        Map<String, Integer> weightByName = new HashMap<>();
+        for (String weight : weights.split(",")) {
+            String[] nameAndWeight = weight.split(":");
+            if (nameAndWeight.length == 2) {
+                weightByName.put(nameAndWeight[0].trim(), Integer.parseInt(nameAndWeight[1].trim()));
+            }
+        }
+        List<Scenario> weighed = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            Scenario withWeight = scenario.withWeight(weightByName.getOrDefault(scenario.getName(), scenario.getWeight()));
+            if (withWeight.getWeight() > 0) {
+                weighed.add(withWeight);
+            }
+        }
+        if (weighed.isEmpty()) {
+            throw new IllegalArgumentException("Every scenario has a weight of 0");
+        }
+        return weighed;
+    }
+
+    private static void printReport(PrintStream out, PostmanCollection collection, LatencyRecorder total,
+                                    long durationSeconds) {
+        out.println();
+        out.printf("%-28s %-44s %8s %7s %9s %9s %9s %9s %9s%n",
+                "Request", "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        int count = 0;
+        int errors = 0;
+        for (Map.Entry<String, LatencyRecorder.Latencies> entry : total.getEndpoints().entrySet()) {
+            LatencyRecorder.Latencies latencies = entry.getValue();
+            out.printf("%-28s %-44s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), collection.get(entry.getKey()).getEndpoint(), latencies.getCount(),
+                    latencies.getErrors(), (double) latencies.getCount() / durationSeconds,
+                    latencies.percentileMillis(50), latencies.percentileMillis(95),
+                    latencies.percentileMillis(99), latencies.percentileMillis(100));
+            count += latencies.getCount();
+            errors += latencies.getErrors();
+        }
+        out.printf("%nTotal: %d requests, %d errors, %.1f requests/s%n", count, errors,
+                (double) count / durationSeconds);
+    }
+
+    private static void printCsv(PrintStream out, PostmanCollection collection, LatencyRecorder total,
+                                 long durationSeconds) {
+        out.println("request,endpoint,count,errors,requests_per_second,p50_ms,p95_ms,p99_ms,max_ms");
+        for (Map.Entry<String, LatencyRecorder.Latencies> entry : total.getEndpoints().entrySet()) {
+            LatencyRecorder.Latencies latencies = entry.getValue();
+            out.printf("%s,%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                    entry.getKey(), collection.get(entry.getKey()).getEndpoint(), latencies.getCount(),
+                    latencies.getErrors(), (double) latencies.getCount() / durationSeconds,
+                    latencies.percentileMillis(50), latencies.percentileMillis(95),
+                    latencies.percentileMillis(99), latencies.percentileMillis(100));
+        }
+    }
+
+    private static String describe(List<Scenario> scenarios) {
+        StringBuilder description = new StringBuilder();
+        for (Scenario scenario : scenarios) {
+            description.append(description.length() == 0 ? "" : ", ")
+                    .append(scenario.getName()).append(':').append(scenario.getWeight());
+        }
+        return description.toString();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options look like --name=value, not '" + arg + "'");
+            }
+            int equals = arg.indexOf('=');
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,77 @@
+package com.techelevator.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The requests of a Postman collection, by name, with their {{variables}} left in place so each virtual user can
+ * fill in its own.
+ */
+public class PostmanCollection {
+
+    private final Map<String, RequestTemplate> requests = new LinkedHashMap<>();
+
+    public static PostmanCollection load(Path file) throws IOException {
+        PostmanCollection collection = new PostmanCollection();
+        collection.addItems(new ObjectMapper().readTree(file.toFile()).path("item"), false);
+        return collection;
+    }
+
+    /**
+     * Add a request that isn't in the collection.
+     */
+    public void add(RequestTemplate request) {
+        requests.put(request.getName(), request);
+    }
+
+    public RequestTemplate get(String name) {
+        RequestTemplate request = requests.get(name);
+        if (request == null) {
+            throw new IllegalArgumentException("No request named '" + name + "' in the collection");
+        }
+        return request;
+    }
+
+    public Map<String, RequestTemplate> getRequests() {
+        return Collections.unmodifiableMap(requests);
+    }
+
+    /**
+     * Replace literal text in the URL and body of every request, to turn the ids and usernames the collection
+     * hard-codes into variables.
+     */
+    public void parameterize(String literal, String replacement) {
+        for (Map.Entry<String, RequestTemplate> entry : requests.entrySet()) {
+            entry.setValue(entry.getValue().replace(literal, replacement));
+        }
+    }
+
+    private void addItems(JsonNode items, boolean inheritedBearer) {
+        for (JsonNode item : items) {
+            // Folders (like the collection's "Auth" folder) can set bearer auth for everything in them
+            boolean bearer = inheritedBearer || "bearer".equals(item.path("auth").path("type").asText());
+            if (item.has("item")) {
+                addItems(item.path("item"), bearer);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            String rawUrl = url.isTextual() ? url.asText() : url.path("raw").asText();
+            String body = request.path("body").path("raw").asText(null);
+            bearer = bearer || "bearer".equals(request.path("auth").path("type").asText());
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (JsonNode header : request.path("header")) {
+                headers.put(header.path("key").asText(), header.path("value").asText());
+            }
+            String name = item.path("name").asText();
+            requests.put(name, new RequestTemplate(name, request.path("method").asText("GET"), rawUrl, body,
+                    headers, bearer));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.techelevator.loadtest;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One request of the collection, with {{variable}} placeholders in its URL, body and headers.
+ */
+public class RequestTemplate {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private final String name;
+    private final String method;
+    private final String url;
+    private final String body;
+    private final Map<String, String> headers;
+    private final boolean bearerAuth;
+
+    public RequestTemplate(String name, String method, String url, String body, Map<String, String> headers,
+                           boolean bearerAuth) {
+        this.name = name;
+        this.method = method;
+        this.url = url;
+        this.body = body;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.bearerAuth = bearerAuth;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public boolean isBearerAuth() {
+        return bearerAuth;
+    }
+
+    /**
+     * The method and path, with the base URL and query left out, e.g. "GET /wishlists/{wishlistId}".
+     */
+    public String getEndpoint() {
+        String path = url.replace("{{baseUrl}}", "");
+        int query = path.indexOf('?');
+        path = query < 0 ? path : path.substring(0, query);
+        return method + " " + VARIABLE.matcher(path).replaceAll("{$1}");
+    }
+
+    RequestTemplate replace(String literal, String replacement) {
+        Map<String, String> replacedHeaders = new LinkedHashMap<>();
+        headers.forEach((key, value) -> replacedHeaders.put(key, value.replace(literal, replacement)));
+        return new RequestTemplate(name, method, url.replace(literal, replacement),
+                body == null ? null : body.replace(literal, replacement), replacedHeaders, bearerAuth);
+    }
+
+    static String resolve(String text, Map<String, String> variables) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalStateException("No value for {{" + matcher.group(1) + "}}");
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.techelevator.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A flow through the API as a sequence of collection requests. Each virtual user picks its next scenario at
+ * random, in proportion to the scenarios' weights.
+ */
+public class Scenario {
+
+    private final String name;
+    private final int weight;
+    private final List<Step> steps = new ArrayList<>();
+
+    public Scenario(String name, int weight) {
+        this.name = name;
+        this.weight = weight;
+    }
+
+    public Scenario then(String requestName) {
+        steps.add(new Step(requestName, null, null));
+        return this;
+    }
+
+    /**
+     * Add a request whose JSON response has a field that later requests use as a variable.
+     */
+    public Scenario then(String requestName, String responseField, String variable) {
+        steps.add(new Step(requestName, responseField, variable));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    public Scenario withWeight(int weight) {
+        Scenario scenario = new Scenario(name, weight);
+        scenario.steps.addAll(steps);
+        return scenario;
+    }
+
+    public static class Step {
+        private final String requestName;
+        private final String responseField;
+        private final String variable;
+
+        Step(String requestName, String responseField, String variable) {
+            this.requestName = requestName;
+            this.responseField = responseField;
+            this.variable = variable;
+        }
+
+        public String getRequestName() {
+            return requestName;
+        }
+
+        public String getResponseField() {
+            return responseField;
+        }
+
+        public String getVariable() {
+            return variable;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.techelevator.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated user: registers and logs in as its own account, then runs randomly picked scenarios back to back
+ * until the test is over. Requests finished before the warm-up ends are not recorded.
+ */
+public class VirtualUser implements Runnable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final PostmanCollection collection;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final long measureFromNanos;
+    private final long stopAtNanos;
+    private final long thinkTimeMillis;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<String, String> variables = new HashMap<>();
+
+    public VirtualUser(HttpClient client, PostmanCollection collection, List<Scenario> scenarios, String baseUrl,
+                       String username, long measureFromNanos, long stopAtNanos, long thinkTimeMillis) {
+        this.client = client;
+        this.collection = collection;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::getWeight).sum();
+        this.measureFromNanos = measureFromNanos;
+        this.stopAtNanos = stopAtNanos;
+        this.thinkTimeMillis = thinkTimeMillis;
+        variables.put("baseUrl", baseUrl);
+        variables.put("username", username);
+    }
+
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        try {
+            send("Register user", null);
+            send("Login", "token");
+            if (!variables.containsKey("token")) {
+                System.err.println(variables.get("username") + " could not log in, stopping");
+                return;
+            }
+            while (System.nanoTime() < stopAtNanos) {
+                Scenario scenario = pickScenario();
+                for (Scenario.Step step : scenario.getSteps()) {
+                    variables.put("requestId", UUID.randomUUID().toString());
+                    send(step.getRequestName(), step.getResponseField(), step.getVariable());
+                    thinkTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Scenario pickScenario() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            pick -= scenario.getWeight();
+            if (pick < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private void send(String requestName, String responseField) throws InterruptedException {
+        send(requestName, responseField, responseField);
+    }
+
+    private void send(String requestName, String responseField, String variable) throws InterruptedException {
+        RequestTemplate template = collection.get(requestName);
+        HttpRequest.Builder request;
+        try {
+            request = buildRequest(template);
+        } catch (IllegalStateException e) {
+            // A variable an earlier request should have captured is missing, so there is nothing to send
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean error;
+        String responseBody = null;
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            error = response.statusCode() >= 400;
+            responseBody = response.body();
+        } catch (IOException e) {
+            error = true;
+        }
+        long end = System.nanoTime();
+        if (start >= measureFromNanos && end <= stopAtNanos) {
+            recorder.record(requestName, end - start, error);
+        }
+
+        if (!error && responseField != null && responseBody != null) {
+            try {
+                JsonNode value = OBJECT_MAPPER.readTree(responseBody).path(responseField);
+                if (!value.isMissingNode()) {
+                    variables.put(variable, value.asText());
+                }
+            } catch (IOException e) {
+                // Not JSON; later requests that need the variable will fail and be counted as errors
+            }
+        }
+    }
+
+    private HttpRequest.Builder buildRequest(RequestTemplate template) {
+        String body = RequestTemplate.resolve(template.getBody(), variables);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(RequestTemplate.resolve(template.getUrl(), variables)))
+                .timeout(REQUEST_TIMEOUT)
+                .method(template.getMethod(), body == null
+                        ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        for (Map.Entry<String, String> header : template.getHeaders().entrySet()) {
+            request.header(header.getKey(), RequestTemplate.resolve(header.getValue(), variables));
+        }
+        if (template.isBearerAuth() && variables.containsKey("token")) {
+            request.header("Authorization", "Bearer " + variables.get("token"));
+        }
+        return request;
+    }
+
+    private void thinkTime() throws InterruptedException {
+        if (thinkTimeMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkTimeMillis / 2, thinkTimeMillis * 3 / 2 + 1));
+        }
+    }
+}
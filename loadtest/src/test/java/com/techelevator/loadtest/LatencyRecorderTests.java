@@ -0,0 +1,53 @@
+package com.techelevator.loadtest;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyRecorderTests {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void percentileMillis_uses_the_nearest_rank() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        // 1 to 10 milliseconds, recorded out of order
+        for (int millis : new int[]{7, 3, 10, 1, 9, 2, 8, 4, 6, 5}) {
+            recorder.record("GET /products", millis * 1_000_000L, false);
+        }
+        LatencyRecorder.Latencies latencies = recorder.getEndpoints().get("GET /products");
+
+        Assert.assertEquals(1, latencies.percentileMillis(0), DELTA);
+        Assert.assertEquals(1, latencies.percentileMillis(10), DELTA);
+        Assert.assertEquals(2, latencies.percentileMillis(11), DELTA);
+        Assert.assertEquals(5, latencies.percentileMillis(50), DELTA);
+        Assert.assertEquals(10, latencies.percentileMillis(95), DELTA);
+        Assert.assertEquals(10, latencies.percentileMillis(99), DELTA);
+        Assert.assertEquals(10, latencies.percentileMillis(100), DELTA);
+    }
+
+    @Test
+    public void percentileMillis_of_no_requests_is_zero() {
+        Assert.assertEquals(0, new LatencyRecorder.Latencies().percentileMillis(99), DELTA);
+    }
+
+    @Test
+    public void mergeInto_combines_latencies_and_errors_by_endpoint() {
+        LatencyRecorder first = new LatencyRecorder();
+        first.record("GET /cart", 2_000_000L, false);
+        first.record("GET /cart", 4_000_000L, true);
+        LatencyRecorder second = new LatencyRecorder();
+        second.record("GET /cart", 1_500_000L, false);
+        second.record("POST /orders", 3_000_000L, true);
+        LatencyRecorder total = new LatencyRecorder();
+
+        first.mergeInto(total);
+        second.mergeInto(total);
+
+        LatencyRecorder.Latencies cart = total.getEndpoints().get("GET /cart");
+        Assert.assertEquals(3, cart.getCount());
+        Assert.assertEquals(1, cart.getErrors());
+        Assert.assertEquals(1.5, cart.percentileMillis(0), DELTA);
+        Assert.assertEquals(2, cart.percentileMillis(50), DELTA);
+        Assert.assertEquals(1, total.getEndpoints().get("POST /orders").getErrors());
+    }
+}
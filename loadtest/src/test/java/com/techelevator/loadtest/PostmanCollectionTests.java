@@ -0,0 +1,70 @@
+package com.techelevator.loadtest;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PostmanCollectionTests {
+
+    private static final String COLLECTION = "{\"item\": [" +
+            "{\"name\": \"Auth\", \"auth\": {\"type\": \"bearer\"}, \"item\": [" +
+            "{\"name\": \"Add wishlist item\", \"request\": {\"method\": \"POST\", " +
+            "\"header\": [{\"key\": \"X-Wishlist\", \"value\": \"1\"}], " +
+            "\"url\": {\"raw\": \"{{baseUrl}}/wishlists/1/products/7\"}, " +
+            "\"body\": {\"raw\": \"{\\\"wishlistId\\\": 1, \\\"productId\\\": 7}\"}}}]}, " +
+            "{\"name\": \"Login\", \"request\": {\"method\": \"POST\", \"url\": \"{{baseUrl}}/login\", " +
+            "\"body\": {\"raw\": \"{\\\"username\\\": \\\"user1\\\", \\\"password\\\": \\\"password\\\"}\"}}}" +
+            "]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private PostmanCollection collection;
+
+    @Before
+    public void setup() throws IOException {
+        Path file = folder.newFile("collection.json").toPath();
+        Files.write(file, COLLECTION.getBytes(StandardCharsets.UTF_8));
+        collection = PostmanCollection.load(file);
+    }
+
+    @Test
+    public void load_reads_requests_from_folders_with_their_auth() {
+        RequestTemplate addItem = collection.get("Add wishlist item");
+        Assert.assertEquals("POST", addItem.getMethod());
+        Assert.assertTrue(addItem.isBearerAuth());
+        Assert.assertEquals("POST /wishlists/1/products/7", addItem.getEndpoint());
+        Assert.assertFalse(collection.get("Login").isBearerAuth());
+    }
+
+    @Test
+    public void parameterize_replaces_literals_in_url_body_and_headers_of_every_request() {
+        collection.parameterize("/wishlists/1/", "/wishlists/{{wishlistId}}/");
+        collection.parameterize("\"wishlistId\": 1", "\"wishlistId\": {{wishlistId}}");
+        collection.parameterize("user1", "{{username}}");
+
+        RequestTemplate addItem = collection.get("Add wishlist item");
+        Assert.assertEquals("{{baseUrl}}/wishlists/{{wishlistId}}/products/7", addItem.getUrl());
+        Assert.assertEquals("{\"wishlistId\": {{wishlistId}}, \"productId\": 7}", addItem.getBody());
+        Assert.assertEquals("POST /wishlists/{wishlistId}/products/7", addItem.getEndpoint());
+        Assert.assertTrue(addItem.isBearerAuth());
+
+        RequestTemplate login = collection.get("Login");
+        Assert.assertEquals("{{baseUrl}}/login", login.getUrl());
+        Assert.assertEquals("{\"username\": \"{{username}}\", \"password\": \"password\"}", login.getBody());
+    }
+
+    @Test
+    public void parameterize_replaces_literals_in_headers() {
+        collection.parameterize("1", "{{wishlistId}}");
+
+        Assert.assertEquals("{{wishlistId}}", collection.get("Add wishlist item").getHeaders().get("X-Wishlist"));
+    }
+}